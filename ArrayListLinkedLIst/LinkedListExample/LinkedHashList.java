@@ -0,0 +1,644 @@
+package ArrayListLinkedLIst.LinkedListExample;
+
+import java.util.AbstractSequentialList;
+import java.util.ConcurrentModificationException;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * A doubly linked list with a hash index from each value to its nodes.
+ *
+ * LinkedList.contains, remove(Object) and indexOf scan the list calling equals. Here a
+ * HashMap finds the first node holding a value, so contains, remove(Object),
+ * moveToFront(Object) and moveToBack(Object) are O(1) expected. Everything else behaves like
+ * LinkedList: duplicates and nulls are allowed, positional inserts and ListIterator add, set
+ * and remove work as usual, and iterators are fail-fast.
+ *
+ * Duplicates: the nodes holding the same value are chained together in list order. To keep
+ * that chain ordered without walking the list, every node carries an order label (a long that
+ * grows from head to tail). A new node takes a label between its neighbors; when there is no
+ * gap left, the labels of a small window of nodes around it are spread out again. The first
+ * node of a chain also points to its last one, so removing or moving any occurrence, and
+ * adding a copy before the first or after the last one (addFirst, addLast, moveToFront,
+ * moveToBack), are O(1). Only inserting a copy between two existing copies of a value with
+ * d copies costs O(d), to find its place in the chain.
+ *
+ * indexOf and lastIndexOf return -1 in O(1) for values that are not in the list; otherwise
+ * they still have to count the nodes before the occurrence, as a linked list cannot know
+ * positions without walking.
+ */
+public class LinkedHashList<E> extends AbstractSequentialList<E> implements Deque<E> {
+
+    // Labels are kept in (0, MAX_LABEL) so that sums of two labels cannot overflow
+    private static final long MAX_LABEL = 1L << 62;
+    private static final long LABEL_STEP = 1L << 32;
+
+    private static final class Node<E> {
+        E value;
+        long label;
+        Node<E> prev, next;
+        // Neighbors among the nodes holding an equal value, in list order. The chain is
+        // circular backwards: the first node's prevSame is the last node of the chain.
+        Node<E> prevSame, nextSame;
+
+        Node(E value) {
+            this.value = value;
+        }
+    }
+
+    // First node (in list order) of every value in the list
+    private final Map<Object, Node<E>> firstByValue = new HashMap<>();
+    private Node<E> head;
+    private Node<E> tail;
+    private int size;
+
+    public LinkedHashList() {
+    }
+
+    public LinkedHashList(Iterable<? extends E> elements) {
+        for (E element : elements) {
+            addLast(element);
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    // O(1) expected
+    @Override
+    public boolean contains(Object o) {
+        return firstByValue.containsKey(o);
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        Node<E> target = firstByValue.get(o);
+        if (target == null) {
+            return -1;
+        }
+        int index = 0;
+        for (Node<E> node = head; node != target; node = node.next) {
+            index++;
+        }
+        return index;
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        Node<E> target = firstByValue.get(o);
+        if (target == null) {
+            return -1;
+        }
+        target = target.prevSame; // last occurrence
+        int index = size - 1;
+        for (Node<E> node = tail; node != target; node = node.prev) {
+            index--;
+        }
+        return index;
+    }
+
+    @Override
+    public boolean add(E e) {
+        addLast(e);
+        return true;
+    }
+
+    // Removes the first occurrence; O(1) expected
+    @Override
+    public boolean remove(Object o) {
+        return removeFirstOccurrence(o);
+    }
+
+    // Moves the first occurrence of the value to the front of the list; O(1) expected
+    public boolean moveToFront(Object o) {
+        Node<E> node = firstByValue.get(o);
+        if (node == null) {
+            return false;
+        }
+        if (node != head) {
+            unlink(node);
+            link(node, null, head);
+        }
+        return true;
+    }
+
+    // Moves the first occurrence of the value to the back of the list; O(1) expected
+    public boolean moveToBack(Object o) {
+        Node<E> node = firstByValue.get(o);
+        if (node == null) {
+            return false;
+        }
+        if (node != tail) {
+            unlink(node);
+            link(node, tail, null);
+        }
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        firstByValue.clear();
+        head = null;
+        tail = null;
+        size = 0;
+        modCount++;
+    }
+
+    // Deque operations
+
+    @Override
+    public void addFirst(E e) {
+        link(new Node<>(e), null, head);
+    }
+
+    @Override
+    public void addLast(E e) {
+        link(new Node<>(e), tail, null);
+    }
+
+    @Override
+    public boolean offerFirst(E e) {
+        addFirst(e);
+        return true;
+    }
+
+    @Override
+    public boolean offerLast(E e) {
+        addLast(e);
+        return true;
+    }
+
+    @Override
+    public E removeFirst() {
+        if (head == null) {
+            throw new NoSuchElementException();
+        }
+        return pollFirst();
+    }
+
+    @Override
+    public E removeLast() {
+        if (tail == null) {
+            throw new NoSuchElementException();
+        }
+        return pollLast();
+    }
+
+    @Override
+    public E pollFirst() {
+        Node<E> node = head;
+        if (node == null) {
+            return null;
+        }
+        unlink(node);
+        return node.value;
+    }
+
+    @Override
+    public E pollLast() {
+        Node<E> node = tail;
+        if (node == null) {
+            return null;
+        }
+        unlink(node);
+        return node.value;
+    }
+
+    @Override
+    public E getFirst() {
+        if (head == null) {
+            throw new NoSuchElementException();
+        }
+        return head.value;
+    }
+
+    @Override
+    public E getLast() {
+        if (tail == null) {
+            throw new NoSuchElementException();
+        }
+        return tail.value;
+    }
+
+    @Override
+    public E peekFirst() {
+        return head == null ? null : head.value;
+    }
+
+    @Override
+    public E peekLast() {
+        return tail == null ? null : tail.value;
+    }
+
+    @Override
+    public boolean removeFirstOccurrence(Object o) {
+        Node<E> node = firstByValue.get(o);
+        if (node == null) {
+            return false;
+        }
+        unlink(node);
+        return true;
+    }
+
+    // O(1) expected
+    @Override
+    public boolean removeLastOccurrence(Object o) {
+        Node<E> node = firstByValue.get(o);
+        if (node == null) {
+            return false;
+        }
+        unlink(node.prevSame);
+        return true;
+    }
+
+    @Override
+    public boolean offer(E e) {
+        addLast(e);
+        return true;
+    }
+
+    @Override
+    public E remove() {
+        return removeFirst();
+    }
+
+    @Override
+    public E poll() {
+        return pollFirst();
+    }
+
+    @Override
+    public E element() {
+        return getFirst();
+    }
+
+    @Override
+    public E peek() {
+        return peekFirst();
+    }
+
+    @Override
+    public void push(E e) {
+        addFirst(e);
+    }
+
+    @Override
+    public E pop() {
+        return removeFirst();
+    }
+
+    // Iterators
+
+    @Override
+    public ListIterator<E> listIterator(int index) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return new Itr(index);
+    }
+
+    @Override
+    public Iterator<E> descendingIterator() {
+        Itr it = new Itr(size);
+        return new Iterator<E>() {
+            @Override
+            public boolean hasNext() {
+                return it.hasPrevious();
+            }
+
+            @Override
+            public E next() {
+                return it.previous();
+            }
+
+            @Override
+            public void remove() {
+                it.remove();
+            }
+        };
+    }
+
+    // A reverse-ordered view, like LinkedList.reversed(); needed on Java 21+, where List and
+    // Deque both have a reversed() default. remove(Object) on the view stays O(1) expected.
+    public ReversedListDeque<E, LinkedHashList<E>> reversed() {
+        return new ReversedListDeque<>(this);
+    }
+
+    private final class Itr implements ListIterator<E> {
+        private Node<E> next;
+        private int nextIndex;
+        private Node<E> lastReturned;
+        private int expectedModCount = modCount;
+
+        Itr(int index) {
+            nextIndex = index;
+            if (index == size) {
+                next = null;
+            } else if (index < (size >> 1)) {
+                next = head;
+                for (int i = 0; i < index; i++) {
+                    next = next.next;
+                }
+            } else {
+                next = tail;
+                for (int i = size - 1; i > index; i--) {
+                    next = next.prev;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextIndex < size;
+        }
+
+        @Override
+        public E next() {
+            checkForComodification();
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            lastReturned = next;
+            next = next.next;
+            nextIndex++;
+            return lastReturned.value;
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return nextIndex > 0;
+        }
+
+        @Override
+        public E previous() {
+            checkForComodification();
+            if (nextIndex == 0) {
+                throw new NoSuchElementException();
+            }
+            next = next == null ? tail : next.prev;
+            lastReturned = next;
+            nextIndex--;
+            return lastReturned.value;
+        }
+
+        @Override
+        public int nextIndex() {
+            return nextIndex;
+        }
+
+        @Override
+        public int previousIndex() {
+            return nextIndex - 1;
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned == null) {
+                throw new IllegalStateException();
+            }
+            checkForComodification();
+            Node<E> after = lastReturned.next;
+            unlink(lastReturned);
+            if (next == lastReturned) {
+                next = after; // the last call was previous()
+            } else {
+                nextIndex--;
+            }
+            lastReturned = null;
+            expectedModCount = modCount;
+        }
+
+        @Override
+        public void set(E e) {
+            if (lastReturned == null) {
+                throw new IllegalStateException();
+            }
+            checkForComodification();
+            unindex(lastReturned);
+            lastReturned.value = e;
+            index(lastReturned);
+        }
+
+        @Override
+        public void add(E e) {
+            checkForComodification();
+            link(new Node<>(e), next == null ? tail : next.prev, next);
+            nextIndex++;
+            lastReturned = null;
+            expectedModCount = modCount;
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    // Internals
+
+    // Links the node between 'prev' and 'next' (adjacent nodes, either may be null)
+    private void link(Node<E> node, Node<E> prev, Node<E> next) {
+        node.prev = prev;
+        node.next = next;
+        if (prev == null) {
+            head = node;
+        } else {
+            prev.next = node;
+        }
+        if (next == null) {
+            tail = node;
+        } else {
+            next.prev = node;
+        }
+        assignLabel(node);
+        index(node);
+        size++;
+        modCount++;
+    }
+
+    private void unlink(Node<E> node) {
+        unindex(node);
+        if (node.prev == null) {
+            head = node.next;
+        } else {
+            node.prev.next = node.next;
+        }
+        if (node.next == null) {
+            tail = node.prev;
+        } else {
+            node.next.prev = node.prev;
+        }
+        node.prev = null;
+        node.next = null;
+        size--;
+        modCount++;
+    }
+
+    // Gives a linked node a label between the labels of its neighbors
+    private void assignLabel(Node<E> node) {
+        long low = node.prev == null ? 0 : node.prev.label;
+        long high = node.next == null ? MAX_LABEL : node.next.label;
+        long label;
+        if (node.prev == null && node.next == null) {
+            label = MAX_LABEL / 2;
+        } else if (node.next == null) {
+            // Appends step by a fixed amount so that long runs of addLast rarely relabel
+            label = low + Math.min(LABEL_STEP, (high - low) / 2);
+        } else if (node.prev == null) {
+            label = high - Math.min(LABEL_STEP, (high - low) / 2);
+        } else {
+            label = low + (high - low) / 2;
+        }
+        if (label > low && label < high) {
+            node.label = label;
+        } else {
+            relabelAround(node);
+        }
+    }
+
+    // Spreads out the labels of a window of nodes around 'node', doubling the window until
+    // its label range leaves enough room between every two nodes
+    private void relabelAround(Node<E> node) {
+        Node<E> first = node;
+        Node<E> last = node;
+        int count = 1;
+        while (true) {
+            long low = first.prev == null ? 0 : first.prev.label;
+            long high = last.next == null ? MAX_LABEL : last.next.label;
+            long spacing = (high - low) / (count + 1);
+            boolean wholeList = first.prev == null && last.next == null;
+            if (spacing > count || (wholeList && spacing > 1)) {
+                long label = low;
+                for (Node<E> n = first; ; n = n.next) {
+                    label += spacing;
+                    n.label = label;
+                    if (n == last) {
+                        break;
+                    }
+                }
+                return;
+            }
+            if (wholeList) {
+                throw new IllegalStateException("Too many elements to label: " + size);
+            }
+            int grow = count;
+            for (int i = 0; i < grow; i++) {
+                if (first.prev != null) {
+                    first = first.prev;
+                    count++;
+                }
+                if (last.next != null) {
+                    last = last.next;
+                    count++;
+                }
+            }
+        }
+    }
+
+    // Adds the node to the chain of nodes holding its value, keeping the chain in list order.
+    // O(1) when the node goes before the first or after the last copy (addFirst, addLast,
+    // moveToFront, moveToBack); O(d) for a value with d copies when it goes between them.
+    private void index(Node<E> node) {
+        Node<E> first = firstByValue.putIfAbsent(node.value, node);
+        if (first == null) {
+            node.prevSame = node;
+            node.nextSame = null;
+            return;
+        }
+        Node<E> last = first.prevSame;
+        if (node.label < first.label) {
+            node.prevSame = last;
+            node.nextSame = first;
+            first.prevSame = node;
+            firstByValue.put(node.value, node);
+            return;
+        }
+        if (node.label > last.label) {
+            node.prevSame = last;
+            node.nextSame = null;
+            last.nextSame = node;
+            first.prevSame = node;
+            return;
+        }
+        Node<E> before = first;
+        while (before.nextSame.label < node.label) {
+            before = before.nextSame;
+        }
+        node.prevSame = before;
+        node.nextSame = before.nextSame;
+        before.nextSame.prevSame = node;
+        before.nextSame = node;
+    }
+
+    private void unindex(Node<E> node) {
+        Node<E> first = firstByValue.get(node.value);
+        Node<E> next = node.nextSame;
+        if (first == node) {
+            if (next == null) {
+                firstByValue.remove(node.value);
+            } else {
+                next.prevSame = node.prevSame;
+                firstByValue.put(node.value, next);
+            }
+        } else {
+            node.prevSame.nextSame = next;
+            if (next == null) {
+                first.prevSame = node.prevSame;
+            } else {
+                next.prevSame = node.prevSame;
+            }
+        }
+        node.prevSame = null;
+        node.nextSame = null;
+    }
+
+    // The SuperHeroesList operations, then remove-by-value timed against LinkedList
+    public static void main(String[] args) {
+        String shazam = "Shazam";
+        LinkedHashList<String> superHeroes = new LinkedHashList<>();
+        superHeroes.add("Superman");
+        superHeroes.add("The Incredible Hulk");
+        superHeroes.add(1, "Spider Woman");
+        superHeroes.add(shazam);
+        superHeroes.addLast("Bugs Bunny");
+        superHeroes.addFirst("Flash");
+        superHeroes.add("Bugs Bunny");
+        System.out.println("Superheroes: " + superHeroes);
+
+        superHeroes.remove("Bugs Bunny"); // first occurrence only, like LinkedList
+        superHeroes.remove(shazam);
+        superHeroes.moveToFront("The Incredible Hulk");
+        System.out.println("After removing Bugs Bunny and Shazam, Hulk moved to the front: " + superHeroes);
+        System.out.println("Contains Bugs Bunny: " + superHeroes.contains("Bugs Bunny")
+            + ", at index " + superHeroes.indexOf("Bugs Bunny"));
+
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        List<String> linkedList = new LinkedList<>();
+        List<String> linkedHashList = new LinkedHashList<>();
+        for (int i = 0; i < n; i++) {
+            linkedList.add("hero" + i);
+            linkedHashList.add("hero" + i);
+        }
+        System.out.println("\nRemoving " + n / 10 + " of " + n + " heroes by value:");
+        System.out.println("LinkedList:     " + timeRemovals(linkedList, n) + " ms");
+        System.out.println("LinkedHashList: " + timeRemovals(linkedHashList, n) + " ms");
+        System.out.println("Same contents: " + linkedList.equals(linkedHashList));
+    }
+
+    private static long timeRemovals(List<String> list, int n) {
+        long start = System.nanoTime();
+        for (int i = 0; i < n; i += 10) {
+            list.remove("hero" + (n - 1 - i));
+        }
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+}
@@ -0,0 +1,109 @@
+package ArrayListLinkedLIst.LinkedListExample;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Compares LinkedList, UnrolledLinkedList and ArrayList on the operations SuperHeroesList
+ * uses: appends, get(i), set(i, e), add(i, e) in the middle and remove(i), plus the memory
+ * used per element.
+ *
+ * Each round runs on a fresh list of N Integers with the same random indices for every
+ * implementation, and sums the values read so the JIT cannot skip the work. The first rounds
+ * are warm-up and are not reported. This is a rough manual comparison; timings depend on the
+ * machine and JVM flags.
+ */
+public class LinkedListComparison {
+
+    private static final int N = 100_000;
+    private static final int OPERATIONS = 10_000;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+
+    public static void main(String[] args) {
+        System.out.println(N + " elements, " + OPERATIONS + " random operations, best of "
+            + MEASURED_ROUNDS + " rounds:");
+        System.out.printf("%-22s %10s %10s %10s %10s %10s%n", "", "addLast", "get(i)", "set(i)", "add(i)", "remove(i)");
+        report("LinkedList", LinkedList::new);
+        report("UnrolledLinkedList", UnrolledLinkedList::new);
+        report("ArrayList", ArrayList::new);
+
+        System.out.println("\nMemory for 1,000,000 Integers (not counting the Integers themselves):");
+        System.out.printf("%-22s ~%d bytes per element%n", "LinkedList", bytesPerElement(LinkedList::new));
+        System.out.printf("%-22s ~%d bytes per element%n", "UnrolledLinkedList", bytesPerElement(UnrolledLinkedList::new));
+        System.out.printf("%-22s ~%d bytes per element%n", "ArrayList", bytesPerElement(ArrayList::new));
+    }
+
+    private static void report(String name, Supplier<List<Integer>> factory) {
+        long[] best = new long[5];
+        Arrays.fill(best, Long.MAX_VALUE);
+        long checksum = 0;
+        for (int round = 0; round < WARMUP_ROUNDS + MEASURED_ROUNDS; round++) {
+            Random random = new Random(42);
+            List<Integer> list = factory.get();
+            long[] times = new long[5];
+
+            long start = System.nanoTime();
+            for (int i = 0; i < N; i++) {
+                list.add(i);
+            }
+            times[0] = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < OPERATIONS; i++) {
+                checksum += list.get(random.nextInt(list.size()));
+            }
+            times[1] = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < OPERATIONS; i++) {
+                list.set(random.nextInt(list.size()), i);
+            }
+            times[2] = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < OPERATIONS; i++) {
+                list.add(random.nextInt(list.size()), i);
+            }
+            times[3] = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < OPERATIONS; i++) {
+                checksum += list.remove(random.nextInt(list.size()));
+            }
+            times[4] = System.nanoTime() - start;
+
+            if (round >= WARMUP_ROUNDS) {
+                for (int i = 0; i < best.length; i++) {
+                    best[i] = Math.min(best[i], times[i]);
+                }
+            }
+        }
+        System.out.printf("%-22s %7.2f ms %7.2f ms %7.2f ms %7.2f ms %7.2f ms  (checksum %d)%n", name,
+            best[0] / 1e6, best[1] / 1e6, best[2] / 1e6, best[3] / 1e6, best[4] / 1e6, checksum);
+    }
+
+    private static long bytesPerElement(Supplier<List<Integer>> factory) {
+        int n = 1_000_000;
+        Integer value = 7; // the same Integer everywhere, so only the list itself is measured
+        long before = usedMemory();
+        List<Integer> list = factory.get();
+        for (int i = 0; i < n; i++) {
+            list.add(value);
+        }
+        long bytes = usedMemory() - before;
+        return list.size() == n ? bytes / n : -1;
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,300 @@
+package ArrayListLinkedLIst.LinkedListExample;
+
+import java.util.AbstractList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+
+/**
+ * A reverse-ordered view of a list that is also a Deque, returned by reversed().
+ *
+ * Since Java 21 both List and Deque declare a reversed() default method, so a class that is
+ * both must override it with a type that is both, as LinkedList does. This view forwards every
+ * call to the backing list with positions mirrored and first and last swapped, so changes go
+ * through in both directions and every operation costs what it costs on the backing list.
+ */
+public final class ReversedListDeque<E, L extends List<E> & Deque<E>> extends AbstractList<E> implements Deque<E> {
+
+    private final L list;
+
+    ReversedListDeque(L list) {
+        this.list = list;
+    }
+
+    // The backing list, in its own order
+    public L reversed() {
+        return list;
+    }
+
+    @Override
+    public int size() {
+        return list.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return list.isEmpty();
+    }
+
+    @Override
+    public E get(int index) {
+        return list.get(mirror(index));
+    }
+
+    @Override
+    public E set(int index, E element) {
+        return list.set(mirror(index), element);
+    }
+
+    @Override
+    public boolean add(E e) {
+        list.addFirst(e);
+        return true;
+    }
+
+    @Override
+    public void add(int index, E element) {
+        int size = list.size();
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        list.add(size - index, element);
+    }
+
+    @Override
+    public E remove(int index) {
+        return list.remove(mirror(index));
+    }
+
+    // The first occurrence in this order is the last one in the backing list
+    @Override
+    public boolean remove(Object o) {
+        return list.removeLastOccurrence(o);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return list.contains(o);
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        int index = list.lastIndexOf(o);
+        return index < 0 ? -1 : list.size() - 1 - index;
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        int index = list.indexOf(o);
+        return index < 0 ? -1 : list.size() - 1 - index;
+    }
+
+    @Override
+    public void clear() {
+        list.clear();
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return list.descendingIterator();
+    }
+
+    @Override
+    public Iterator<E> descendingIterator() {
+        return list.iterator();
+    }
+
+    @Override
+    public ListIterator<E> listIterator(int index) {
+        int size = list.size();
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return new ReversedListIterator(list.listIterator(size - index));
+    }
+
+    // Walks the backing list's iterator backwards. A position between two elements of this
+    // view is the same gap in the backing list, counted from the other end.
+    private final class ReversedListIterator implements ListIterator<E> {
+        private final ListIterator<E> it;
+        // False after add or remove, when set and remove are not allowed
+        private boolean canModify;
+
+        ReversedListIterator(ListIterator<E> it) {
+            this.it = it;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return it.hasPrevious();
+        }
+
+        @Override
+        public E next() {
+            E e = it.previous();
+            canModify = true;
+            return e;
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return it.hasNext();
+        }
+
+        @Override
+        public E previous() {
+            E e = it.next();
+            canModify = true;
+            return e;
+        }
+
+        @Override
+        public int nextIndex() {
+            return list.size() - it.nextIndex();
+        }
+
+        @Override
+        public int previousIndex() {
+            return nextIndex() - 1;
+        }
+
+        @Override
+        public void remove() {
+            if (!canModify) {
+                throw new IllegalStateException();
+            }
+            it.remove();
+            canModify = false;
+        }
+
+        @Override
+        public void set(E e) {
+            if (!canModify) {
+                throw new IllegalStateException();
+            }
+            it.set(e);
+        }
+
+        // The new element goes before the cursor here, so after it in the backing list
+        @Override
+        public void add(E e) {
+            it.add(e);
+            it.previous();
+            canModify = false;
+        }
+    }
+
+    @Override
+    public void addFirst(E e) {
+        list.addLast(e);
+    }
+
+    @Override
+    public void addLast(E e) {
+        list.addFirst(e);
+    }
+
+    @Override
+    public boolean offerFirst(E e) {
+        return list.offerLast(e);
+    }
+
+    @Override
+    public boolean offerLast(E e) {
+        return list.offerFirst(e);
+    }
+
+    @Override
+    public E removeFirst() {
+        return list.removeLast();
+    }
+
+    @Override
+    public E removeLast() {
+        return list.removeFirst();
+    }
+
+    @Override
+    public E pollFirst() {
+        return list.pollLast();
+    }
+
+    @Override
+    public E pollLast() {
+        return list.pollFirst();
+    }
+
+    @Override
+    public E getFirst() {
+        return list.getLast();
+    }
+
+    @Override
+    public E getLast() {
+        return list.getFirst();
+    }
+
+    @Override
+    public E peekFirst() {
+        return list.peekLast();
+    }
+
+    @Override
+    public E peekLast() {
+        return list.peekFirst();
+    }
+
+    @Override
+    public boolean removeFirstOccurrence(Object o) {
+        return list.removeLastOccurrence(o);
+    }
+
+    @Override
+    public boolean removeLastOccurrence(Object o) {
+        return list.removeFirstOccurrence(o);
+    }
+
+    @Override
+    public boolean offer(E e) {
+        return offerLast(e);
+    }
+
+    @Override
+    public E remove() {
+        return removeFirst();
+    }
+
+    @Override
+    public E poll() {
+        return pollFirst();
+    }
+
+    @Override
+    public E element() {
+        return getFirst();
+    }
+
+    @Override
+    public E peek() {
+        return peekFirst();
+    }
+
+    @Override
+    public void push(E e) {
+        addFirst(e);
+    }
+
+    @Override
+    public E pop() {
+        return removeFirst();
+    }
+
+    private int mirror(int index) {
+        int size = list.size();
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return size - 1 - index;
+    }
+}
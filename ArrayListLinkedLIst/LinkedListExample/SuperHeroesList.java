@@ -1,7 +1,7 @@
 package ArrayListLinkedLIst.LinkedListExample;
 
-// Import the LinkedList class
-import java.util.LinkedList;
+// UnrolledLinkedList (same package) replaces java.util.LinkedList: same List and Deque
+// methods, but nodes hold up to 64 elements each
 
 class SuperHeroesList {
 
@@ -10,8 +10,8 @@ class SuperHeroesList {
 
         String shazam = "Shazam";
 
-        // Create a new LinkedList
-        LinkedList<String> superHeroes = new LinkedList<>();
+        // Create a new UnrolledLinkedList
+        UnrolledLinkedList<String> superHeroes = new UnrolledLinkedList<>();
         
         // Add objects to the list
         superHeroes.add("Superman");
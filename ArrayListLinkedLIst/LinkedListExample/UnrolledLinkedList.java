@@ -0,0 +1,663 @@
+package ArrayListLinkedLIst.LinkedListExample;
+
+import java.util.AbstractList;
+import java.util.ConcurrentModificationException;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * A List and Deque that can replace LinkedList, with up to 64 elements per node.
+ *
+ * LinkedList allocates one 24-byte node per element, and get(i), set(i, e), add(i, e) and
+ * remove(i) follow up to n/2 'next' pointers, usually with a cache miss each. Here every node
+ * holds an array of up to 64 elements (the used part is items[start, start + count)), so:
+ * - addFirst/addLast/removeFirst/removeLast are O(1) (amortized): the first and last nodes
+ *   have free room at the front and the back;
+ * - finding index i skips whole nodes, about n/128 steps instead of n/2;
+ * - inserting or removing inside a node shifts at most 32 references with arraycopy; a full
+ *   node is split in two halves, and nodes that get too empty are merged with a neighbor;
+ * - an element costs about 4 to 10 bytes (a slot in a mostly full array plus its share of
+ *   the node), instead of 24 bytes plus the object header of a LinkedList node.
+ *
+ * Iterators are fail-fast like LinkedList's. Null elements are allowed.
+ */
+public class UnrolledLinkedList<E> extends AbstractList<E> implements Deque<E> {
+
+    private static final int NODE_CAPACITY = 64;
+
+    private static final class Node {
+        final Object[] items = new Object[NODE_CAPACITY];
+        int start;
+        int count;
+        Node prev;
+        Node next;
+    }
+
+    private Node head;
+    private Node tail;
+    private int size;
+
+    // Offset within the node of the element found by the last call to nodeFor
+    private int foundOffset;
+
+    public UnrolledLinkedList() {
+    }
+
+    public UnrolledLinkedList(Iterable<? extends E> elements) {
+        for (E element : elements) {
+            addLast(element);
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        checkIndex(index);
+        Node node = nodeFor(index);
+        return (E) node.items[node.start + foundOffset];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E set(int index, E element) {
+        checkIndex(index);
+        Node node = nodeFor(index);
+        int slot = node.start + foundOffset;
+        E old = (E) node.items[slot];
+        node.items[slot] = element;
+        return old;
+    }
+
+    @Override
+    public boolean add(E e) {
+        addLast(e);
+        return true;
+    }
+
+    @Override
+    public void add(int index, E element) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        if (index == size) {
+            addLast(element);
+        } else if (index == 0) {
+            addFirst(element);
+        } else {
+            Node node = nodeFor(index);
+            insert(node, foundOffset, element);
+        }
+    }
+
+    @Override
+    public E remove(int index) {
+        checkIndex(index);
+        Node node = nodeFor(index);
+        return removeAt(node, foundOffset);
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        return removeFirstOccurrence(o);
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        int index = 0;
+        for (Node node = head; node != null; node = node.next) {
+            for (int i = 0; i < node.count; i++, index++) {
+                if (eq(o, node.items[node.start + i])) {
+                    return index;
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        int index = size - 1;
+        for (Node node = tail; node != null; node = node.prev) {
+            for (int i = node.count - 1; i >= 0; i--, index--) {
+                if (eq(o, node.items[node.start + i])) {
+                    return index;
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    @Override
+    public void clear() {
+        head = null;
+        tail = null;
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super E> action) {
+        int expectedModCount = modCount;
+        for (Node node = head; node != null; node = node.next) {
+            for (int i = node.start; i < node.start + node.count; i++) {
+                action.accept((E) node.items[i]);
+            }
+        }
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    // Deque operations
+
+    @Override
+    public void addFirst(E e) {
+        Node node = head;
+        if (node == null || (node.start == 0 && node.count == NODE_CAPACITY)) {
+            node = new Node();
+            node.start = NODE_CAPACITY;
+            linkBefore(node, head);
+        } else if (node.start == 0) {
+            // Move the elements to the back of the array, leaving room for later addFirst calls
+            int newStart = NODE_CAPACITY - node.count;
+            System.arraycopy(node.items, 0, node.items, newStart, node.count);
+            clearSlots(node, 0, newStart);
+            node.start = newStart;
+        }
+        node.items[--node.start] = e;
+        node.count++;
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public void addLast(E e) {
+        Node node = tail;
+        if (node == null || (node.start == 0 && node.count == NODE_CAPACITY)) {
+            node = new Node();
+            linkAfter(node, tail);
+        } else if (node.start + node.count == NODE_CAPACITY) {
+            // Move the elements to the front of the array, leaving room for later addLast calls
+            System.arraycopy(node.items, node.start, node.items, 0, node.count);
+            clearSlots(node, node.count, node.start + node.count);
+            node.start = 0;
+        }
+        node.items[node.start + node.count] = e;
+        node.count++;
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public boolean offerFirst(E e) {
+        addFirst(e);
+        return true;
+    }
+
+    @Override
+    public boolean offerLast(E e) {
+        addLast(e);
+        return true;
+    }
+
+    @Override
+    public E removeFirst() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return removeAt(head, 0);
+    }
+
+    @Override
+    public E removeLast() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return removeAt(tail, tail.count - 1);
+    }
+
+    @Override
+    public E pollFirst() {
+        return size == 0 ? null : removeAt(head, 0);
+    }
+
+    @Override
+    public E pollLast() {
+        return size == 0 ? null : removeAt(tail, tail.count - 1);
+    }
+
+    @Override
+    public E getFirst() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return peekFirst();
+    }
+
+    @Override
+    public E getLast() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return peekLast();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E peekFirst() {
+        return size == 0 ? null : (E) head.items[head.start];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E peekLast() {
+        return size == 0 ? null : (E) tail.items[tail.start + tail.count - 1];
+    }
+
+    @Override
+    public boolean removeFirstOccurrence(Object o) {
+        for (Node node = head; node != null; node = node.next) {
+            for (int i = 0; i < node.count; i++) {
+                if (eq(o, node.items[node.start + i])) {
+                    removeAt(node, i);
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean removeLastOccurrence(Object o) {
+        for (Node node = tail; node != null; node = node.prev) {
+            for (int i = node.count - 1; i >= 0; i--) {
+                if (eq(o, node.items[node.start + i])) {
+                    removeAt(node, i);
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean offer(E e) {
+        addLast(e);
+        return true;
+    }
+
+    @Override
+    public E remove() {
+        return removeFirst();
+    }
+
+    @Override
+    public E poll() {
+        return pollFirst();
+    }
+
+    @Override
+    public E element() {
+        return getFirst();
+    }
+
+    @Override
+    public E peek() {
+        return peekFirst();
+    }
+
+    @Override
+    public void push(E e) {
+        addFirst(e);
+    }
+
+    @Override
+    public E pop() {
+        return removeFirst();
+    }
+
+    // Iterators
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Itr(0);
+    }
+
+    @Override
+    public ListIterator<E> listIterator(int index) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return new Itr(index);
+    }
+
+    @Override
+    public Iterator<E> descendingIterator() {
+        Itr it = new Itr(size);
+        return new Iterator<E>() {
+            @Override
+            public boolean hasNext() {
+                return it.hasPrevious();
+            }
+
+            @Override
+            public E next() {
+                return it.previous();
+            }
+
+            @Override
+            public void remove() {
+                it.remove();
+            }
+        };
+    }
+
+    // A reverse-ordered view, like LinkedList.reversed(). List and Deque both have a reversed()
+    // default since Java 21, so a class implementing both must declare one that is both.
+    public ReversedListDeque<E, UnrolledLinkedList<E>> reversed() {
+        return new ReversedListDeque<>(this);
+    }
+
+    // A cursor between two elements: before items[node.start + offset]
+    private final class Itr implements ListIterator<E> {
+        private Node node;
+        private int offset;
+        private int nextIndex;
+        private Node lastNode;
+        private int lastOffset;
+        private int lastIndex = -1;
+        private int expectedModCount = modCount;
+
+        Itr(int index) {
+            seek(index);
+        }
+
+        private void seek(int index) {
+            nextIndex = index;
+            if (size == 0) {
+                node = null;
+                offset = 0;
+            } else if (index == size) {
+                node = tail;
+                offset = tail.count;
+            } else {
+                node = nodeFor(index);
+                offset = foundOffset;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextIndex < size;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E next() {
+            checkForComodification();
+            if (nextIndex >= size) {
+                throw new NoSuchElementException();
+            }
+            if (offset == node.count) {
+                node = node.next;
+                offset = 0;
+            }
+            lastNode = node;
+            lastOffset = offset;
+            lastIndex = nextIndex;
+            offset++;
+            nextIndex++;
+            return (E) node.items[node.start + lastOffset];
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return nextIndex > 0;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E previous() {
+            checkForComodification();
+            if (nextIndex <= 0) {
+                throw new NoSuchElementException();
+            }
+            if (offset == 0) {
+                node = node.prev;
+                offset = node.count;
+            }
+            offset--;
+            nextIndex--;
+            lastNode = node;
+            lastOffset = offset;
+            lastIndex = nextIndex;
+            return (E) node.items[node.start + offset];
+        }
+
+        @Override
+        public int nextIndex() {
+            return nextIndex;
+        }
+
+        @Override
+        public int previousIndex() {
+            return nextIndex - 1;
+        }
+
+        @Override
+        public void remove() {
+            if (lastIndex < 0) {
+                throw new IllegalStateException();
+            }
+            checkForComodification();
+            removeAt(lastNode, lastOffset);
+            // Nodes may have been merged, so find the cursor again
+            seek(lastIndex < nextIndex ? nextIndex - 1 : nextIndex);
+            lastIndex = -1;
+            expectedModCount = modCount;
+        }
+
+        @Override
+        public void set(E e) {
+            if (lastIndex < 0) {
+                throw new IllegalStateException();
+            }
+            checkForComodification();
+            lastNode.items[lastNode.start + lastOffset] = e;
+        }
+
+        @Override
+        public void add(E e) {
+            checkForComodification();
+            UnrolledLinkedList.this.add(nextIndex, e);
+            // Nodes may have been split, so find the cursor again
+            seek(nextIndex + 1);
+            lastIndex = -1;
+            expectedModCount = modCount;
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    // Internals
+
+    // The node holding element 'index', walking from the nearer end; sets foundOffset
+    private Node nodeFor(int index) {
+        if (index < (size >> 1)) {
+            Node node = head;
+            while (index >= node.count) {
+                index -= node.count;
+                node = node.next;
+            }
+            foundOffset = index;
+            return node;
+        }
+        Node node = tail;
+        int remaining = size - 1 - index;
+        while (remaining >= node.count) {
+            remaining -= node.count;
+            node = node.prev;
+        }
+        foundOffset = node.count - 1 - remaining;
+        return node;
+    }
+
+    // Inserts before the element at 'offset' in the node
+    private void insert(Node node, int offset, E element) {
+        if (node.count == NODE_CAPACITY) {
+            split(node);
+            if (offset > node.count) {
+                offset -= node.count;
+                node = node.next;
+            }
+        }
+        int start = node.start;
+        boolean roomAtEnd = start + node.count < NODE_CAPACITY;
+        if (roomAtEnd && (start == 0 || offset >= node.count / 2)) {
+            // Shift the elements after the insertion point one slot to the right
+            System.arraycopy(node.items, start + offset, node.items, start + offset + 1, node.count - offset);
+        } else {
+            // Shift the elements before the insertion point one slot to the left
+            System.arraycopy(node.items, start, node.items, start - 1, offset);
+            node.start = --start;
+        }
+        node.items[start + offset] = element;
+        node.count++;
+        size++;
+        modCount++;
+    }
+
+    // Moves the upper half of a full node into a new node after it
+    private void split(Node node) {
+        Node upper = new Node();
+        int half = node.count / 2;
+        int moved = node.count - half;
+        System.arraycopy(node.items, node.start + half, upper.items, 0, moved);
+        clearSlots(node, node.start + half, node.start + node.count);
+        upper.count = moved;
+        node.count = half;
+        linkAfter(upper, node);
+    }
+
+    @SuppressWarnings("unchecked")
+    private E removeAt(Node node, int offset) {
+        int start = node.start;
+        E old = (E) node.items[start + offset];
+        if (offset < node.count / 2) {
+            // Close the gap from the left
+            System.arraycopy(node.items, start, node.items, start + 1, offset);
+            node.items[start] = null;
+            node.start++;
+        } else {
+            // Close the gap from the right
+            System.arraycopy(node.items, start + offset + 1, node.items, start + offset, node.count - offset - 1);
+            node.items[start + node.count - 1] = null;
+        }
+        node.count--;
+        size--;
+        modCount++;
+
+        if (node.count == 0) {
+            unlink(node);
+        } else if (node.next != null && node.count + node.next.count <= NODE_CAPACITY / 2) {
+            mergeNext(node);
+        } else if (node.prev != null && node.prev.count + node.count <= NODE_CAPACITY / 2) {
+            mergeNext(node.prev);
+        }
+        return old;
+    }
+
+    // Appends the elements of node.next to node and unlinks node.next
+    private void mergeNext(Node node) {
+        Node next = node.next;
+        if (node.start + node.count + next.count > NODE_CAPACITY) {
+            System.arraycopy(node.items, node.start, node.items, 0, node.count);
+            clearSlots(node, Math.max(node.count, node.start), node.start + node.count);
+            node.start = 0;
+        }
+        System.arraycopy(next.items, next.start, node.items, node.start + node.count, next.count);
+        node.count += next.count;
+        unlink(next);
+    }
+
+    private static void clearSlots(Node node, int from, int to) {
+        for (int i = from; i < to; i++) {
+            node.items[i] = null;
+        }
+    }
+
+    private void linkBefore(Node node, Node successor) {
+        node.next = successor;
+        if (successor == null) {
+            head = node;
+            tail = node;
+            return;
+        }
+        node.prev = successor.prev;
+        successor.prev = node;
+        if (node.prev == null) {
+            head = node;
+        } else {
+            node.prev.next = node;
+        }
+    }
+
+    private void linkAfter(Node node, Node predecessor) {
+        node.prev = predecessor;
+        if (predecessor == null) {
+            head = node;
+            tail = node;
+            return;
+        }
+        node.next = predecessor.next;
+        predecessor.next = node;
+        if (node.next == null) {
+            tail = node;
+        } else {
+            node.next.prev = node;
+        }
+    }
+
+    private void unlink(Node node) {
+        if (node.prev == null) {
+            head = node.next;
+        } else {
+            node.prev.next = node.next;
+        }
+        if (node.next == null) {
+            tail = node.prev;
+        } else {
+            node.next.prev = node.prev;
+        }
+        node.prev = null;
+        node.next = null;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    private static boolean eq(Object a, Object b) {
+        return a == null ? b == null : a.equals(b);
+    }
+}
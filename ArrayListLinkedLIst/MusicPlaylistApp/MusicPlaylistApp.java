@@ -9,17 +9,66 @@
 
 package ArrayListLinkedLIst.MusicPlaylistApp;
 
-import java.util.LinkedList;
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.Scanner;
 
 public class MusicPlaylistApp {
 
-    // LinkedList to store songs in the playlist
-    private LinkedList<String> playlist;
+    // Playlist to store songs (hash index + order-statistic tree, see Playlist)
+    private Playlist playlist;
+
+    // Optional persistent store; null when the session is not saved
+    private PlaylistStore store;
 
     // Constructor to initialize the playlist
     public MusicPlaylistApp() {
-        playlist = new LinkedList<>();
+        playlist = new Playlist();
+    }
+
+    // Constructor to resume the playlist saved in a store
+    public MusicPlaylistApp(PlaylistStore store) {
+        this.store = store;
+        this.playlist = store.getPlaylist();
+    }
+
+    // An edit to be appended to the store's log
+    private interface StoreEdit {
+        void recordTo(PlaylistStore store) throws IOException;
+    }
+
+    // Method to record an edit in the store, if there is one, before it is applied.
+    // Returns false if it could not be saved; the edit must then not be applied.
+    private boolean persist(StoreEdit edit) {
+        if (store == null) {
+            return true;
+        }
+        try {
+            edit.recordTo(store);
+            return true;
+        } catch (IOException e) {
+            System.out.println("Could not save the change, so it was not made: " + e.getMessage());
+            return false;
+        }
+    }
+
+    // Method to compact and close the store, if there is one
+    private void closeStore() {
+        if (store == null) {
+            return;
+        }
+        try {
+            store.compact();
+        } catch (IOException e) {
+            System.out.println("Could not save the playlist: " + e.getMessage());
+        } finally {
+            // The log still holds every edit if compact() failed, so always close it
+            try {
+                store.close();
+            } catch (IOException e) {
+                System.out.println("Could not close the saved playlist: " + e.getMessage());
+            }
+        }
     }
 
     // Method to display the playlist
@@ -28,21 +77,30 @@ public class MusicPlaylistApp {
             System.out.println("The playlist is empty.");
         } else {
             System.out.println("Current Playlist:");
-            for (int i = 0; i < playlist.size(); i++) {
-                System.out.println((i + 1) + ". " + playlist.get(i));
+            // Iterate in order instead of calling get(i) in a loop
+            int position = 1;
+            for (String song : playlist) {
+                System.out.println(position++ + ". " + song);
             }
         }
     }
 
     // Method to add a song to the playlist
     private void addSong(String song) {
+        if (!persist(s -> s.recordAdd(song))) {
+            return;
+        }
         playlist.add(song);
         System.out.println("\"" + song + "\" has been added to the playlist.");
     }
 
     // Method to remove a song from the playlist
     private void removeSong(String song) {
-        if (playlist.remove(song)) {
+        if (playlist.contains(song)) {
+            if (!persist(s -> s.recordRemove(song))) {
+                return;
+            }
+            playlist.remove(song);
             System.out.println("\"" + song + "\" has been removed from the playlist.");
         } else {
             System.out.println("Song not found in the playlist.");
@@ -52,8 +110,10 @@ public class MusicPlaylistApp {
     // Method to rearrange songs in the playlist
     private void rearrangeSongs(int fromIndex, int toIndex) {
         if (fromIndex >= 0 && fromIndex < playlist.size() && toIndex >= 0 && toIndex < playlist.size()) {
-            String song = playlist.remove(fromIndex);
-            playlist.add(toIndex, song);
+            if (!persist(s -> s.recordRearrange(fromIndex, toIndex))) {
+                return;
+            }
+            playlist.move(fromIndex, toIndex);
             System.out.println("Song has been moved.");
         } else {
             System.out.println("Invalid indices. Please try again.");
@@ -63,8 +123,10 @@ public class MusicPlaylistApp {
     // Method to mark a song as favorite and move it to the top
     private void markAsFavorite(String song) {
         if (playlist.contains(song)) {
-            playlist.remove(song);
-            playlist.addFirst(song);
+            if (!persist(s -> s.recordFavorite(song))) {
+                return;
+            }
+            playlist.moveToFirst(song);
             System.out.println("\"" + song + "\" has been marked as your favorite and moved to the top.");
         } else {
             System.out.println("Song not found in the playlist.");
@@ -74,8 +136,10 @@ public class MusicPlaylistApp {
     // Method to mark a song as least favorite and move it to the bottom
     private void markAsLeastFavorite(String song) {
         if (playlist.contains(song)) {
-            playlist.remove(song);
-            playlist.addLast(song);
+            if (!persist(s -> s.recordLeastFavorite(song))) {
+                return;
+            }
+            playlist.moveToLast(song);
             System.out.println("\"" + song + "\" has been marked as your least favorite and moved to the bottom.");
         } else {
             System.out.println("Song not found in the playlist.");
@@ -83,7 +147,18 @@ public class MusicPlaylistApp {
     }
 
     public static void main(String[] args) {
-        MusicPlaylistApp app = new MusicPlaylistApp();
+        // Pass a directory as the first argument to keep the playlist between sessions
+        MusicPlaylistApp app;
+        if (args.length > 0) {
+            try {
+                app = new MusicPlaylistApp(PlaylistStore.open(Paths.get(args[0])));
+            } catch (IOException e) {
+                System.out.println("Could not open the saved playlist: " + e.getMessage());
+                return;
+            }
+        } else {
+            app = new MusicPlaylistApp();
+        }
         Scanner scanner = new Scanner(System.in);
         int choice;
 
@@ -139,6 +214,7 @@ public class MusicPlaylistApp {
                     break;
 
                 case 7:
+                    app.closeStore();
                     System.out.println("Exiting the program. Goodbye!");
                     scanner.close();
                     return;
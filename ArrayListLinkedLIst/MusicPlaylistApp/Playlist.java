@@ -0,0 +1,390 @@
+package ArrayListLinkedLIst.MusicPlaylistApp;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+/**
+ * An ordered playlist of songs backed by an order-statistic tree (an implicit treap)
+ * plus a hash index from song to its tree node(s).
+ *
+ * A LinkedList has to walk node by node for contains, remove(Object), get(index) and
+ * add(index, ...), so every playlist operation is O(n) and displaying with get(i) in a
+ * loop is O(n^2). Here the tree is keyed by position (each node stores the size of its
+ * subtree), so positional access, insertion and removal are O(log n). The hash index
+ * gives O(1) contains and lets us find a song's node without scanning; parent pointers
+ * then give us its position in O(log n).
+ *
+ * Duplicate songs are allowed, just like with the LinkedList. Removing or moving a song
+ * by name always affects its first occurrence in playlist order, matching LinkedList.remove(Object).
+ * The nodes holding the same song are chained together in playlist order, and the index keeps
+ * the first and last node of each chain, so finding the first occurrence and unlinking a node
+ * are O(1) whatever the number of copies. Only placing a copy between two existing copies of a
+ * song with d copies (add or move to the middle) walks the chain, O(d log n).
+ */
+public class Playlist implements Iterable<String> {
+
+    // A node of the treap. Position in the playlist is given by in-order traversal.
+    private static final class Node {
+        final String song;
+        final int priority;
+        int size = 1;
+        Node left, right, parent;
+        // Neighbors among the nodes holding the same song, in playlist order
+        Node prevSame, nextSame;
+
+        Node(String song, int priority) {
+            this.song = song;
+            this.priority = priority;
+        }
+    }
+
+    // The nodes holding one song: the ends of their chain and how many there are
+    private static final class Copies {
+        Node first, last;
+        int count;
+    }
+
+    // Hash index from song to the nodes holding that song
+    private final Map<String, Copies> index = new HashMap<>();
+
+    // Random priorities keep the treap balanced with high probability
+    private final Random random = new Random();
+
+    private Node root;
+
+    // Returns the number of songs in the playlist
+    public int size() {
+        return size(root);
+    }
+
+    // Returns true if the playlist has no songs
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    // O(1): checks the hash index instead of scanning the list
+    public boolean contains(String song) {
+        return index.containsKey(song);
+    }
+
+    // O(1): returns how many times the song occurs in the playlist
+    public int count(String song) {
+        Copies copies = index.get(song);
+        return copies == null ? 0 : copies.count;
+    }
+
+    // O(log n): returns the song at the given position
+    public String get(int position) {
+        checkIndex(position, size());
+        return nodeAt(position).song;
+    }
+
+    // O(log n): returns the position of the first occurrence of the song, or -1
+    public int indexOf(String song) {
+        Node node = firstOccurrence(song);
+        return node == null ? -1 : rank(node);
+    }
+
+    // O(log n): appends a song to the bottom of the playlist
+    public void add(String song) {
+        addLast(song);
+    }
+
+    // O(log n): adds a song to the top of the playlist
+    public void addFirst(String song) {
+        add(0, song);
+    }
+
+    // O(log n): adds a song to the bottom of the playlist
+    public void addLast(String song) {
+        add(size(), song);
+    }
+
+    // O(log n): inserts a song at the given position
+    public void add(int position, String song) {
+        checkIndex(position, size() + 1);
+        Node node = new Node(song, random.nextInt());
+        insertNode(position, node);
+        link(node, position);
+    }
+
+    // O(log n) expected: removes the first occurrence of the song
+    public boolean remove(String song) {
+        Node node = firstOccurrence(song);
+        if (node == null) {
+            return false;
+        }
+        unlink(node);
+        detach(rank(node));
+        return true;
+    }
+
+    // O(log n): removes and returns the song at the given position
+    public String remove(int position) {
+        checkIndex(position, size());
+        Node node = detach(position);
+        unlink(node);
+        return node.song;
+    }
+
+    // O(log n): moves the first occurrence of the song to the top
+    public boolean moveToFirst(String song) {
+        Node node = firstOccurrence(song);
+        if (node == null) {
+            return false;
+        }
+        unlink(node);
+        insertNode(0, detach(rank(node)));
+        link(node, 0);
+        return true;
+    }
+
+    // O(log n): moves the first occurrence of the song to the bottom
+    public boolean moveToLast(String song) {
+        Node node = firstOccurrence(song);
+        if (node == null) {
+            return false;
+        }
+        unlink(node);
+        Node detached = detach(rank(node));
+        int last = size();
+        insertNode(last, detached);
+        link(detached, last);
+        return true;
+    }
+
+    // O(log n): moves the song at fromIndex so that it ends up at toIndex
+    public void move(int fromIndex, int toIndex) {
+        int size = size();
+        checkIndex(fromIndex, size);
+        checkIndex(toIndex, size);
+        Node node = detach(fromIndex);
+        unlink(node);
+        insertNode(toIndex, node);
+        link(node, toIndex);
+    }
+
+    // Removes every song from the playlist
+    public void clear() {
+        root = null;
+        index.clear();
+    }
+
+    // In-order traversal, O(n) for the whole playlist
+    @Override
+    public Iterator<String> iterator() {
+        return new Iterator<String>() {
+            private final ArrayDeque<Node> path = new ArrayDeque<>();
+            private Node next = root;
+
+            @Override
+            public boolean hasNext() {
+                return next != null || !path.isEmpty();
+            }
+
+            @Override
+            public String next() {
+                while (next != null) {
+                    path.push(next);
+                    next = next.left;
+                }
+                if (path.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+                Node current = path.pop();
+                next = current.right;
+                return current.song;
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (String song : this) {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append(song);
+        }
+        return sb.append(']').toString();
+    }
+
+    // Finds the node of the first occurrence of a song in playlist order: O(1)
+    private Node firstOccurrence(String song) {
+        Copies copies = index.get(song);
+        return copies == null ? null : copies.first;
+    }
+
+    // Adds a node that was just inserted at 'position' to the chain of its song. Before the
+    // first or after the last copy is O(log n); between two copies it walks the chain.
+    private void link(Node node, int position) {
+        Copies copies = index.get(node.song);
+        if (copies == null) {
+            copies = new Copies();
+            copies.first = node;
+            copies.last = node;
+            copies.count = 1;
+            index.put(node.song, copies);
+            return;
+        }
+        copies.count++;
+        if (position < rank(copies.first)) {
+            node.nextSame = copies.first;
+            copies.first.prevSame = node;
+            copies.first = node;
+            return;
+        }
+        Node before = copies.last;
+        if (position < rank(before)) {
+            before = copies.first;
+            while (rank(before.nextSame) < position) {
+                before = before.nextSame;
+            }
+        }
+        node.prevSame = before;
+        node.nextSame = before.nextSame;
+        if (before.nextSame == null) {
+            copies.last = node;
+        } else {
+            before.nextSame.prevSame = node;
+        }
+        before.nextSame = node;
+    }
+
+    // Removes a node from the chain of its song: O(1)
+    private void unlink(Node node) {
+        Copies copies = index.get(node.song);
+        if (--copies.count == 0) {
+            index.remove(node.song);
+        } else {
+            if (node.prevSame == null) {
+                copies.first = node.nextSame;
+            } else {
+                node.prevSame.nextSame = node.nextSame;
+            }
+            if (node.nextSame == null) {
+                copies.last = node.prevSame;
+            } else {
+                node.nextSame.prevSame = node.prevSame;
+            }
+        }
+        node.prevSame = null;
+        node.nextSame = null;
+    }
+
+    // Returns the position of a node by walking up through its parents
+    private int rank(Node node) {
+        int rank = size(node.left);
+        while (node.parent != null) {
+            if (node == node.parent.right) {
+                rank += size(node.parent.left) + 1;
+            }
+            node = node.parent;
+        }
+        return rank;
+    }
+
+    private Node nodeAt(int position) {
+        Node node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (position < leftSize) {
+                node = node.left;
+            } else if (position == leftSize) {
+                return node;
+            } else {
+                position -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    // Places a single, detached node at the given position
+    private void insertNode(int position, Node node) {
+        Node[] parts = split(root, position);
+        root = merge(merge(parts[0], node), parts[1]);
+        root.parent = null;
+    }
+
+    // Cuts the node at the given position out of the tree and returns it
+    private Node detach(int position) {
+        Node[] left = split(root, position);
+        Node[] right = split(left[1], 1);
+        root = merge(left[0], right[1]);
+        if (root != null) {
+            root.parent = null;
+        }
+        Node node = right[0];
+        node.parent = null;
+        return node;
+    }
+
+    // Splits a tree into the first 'count' nodes and the rest
+    private static Node[] split(Node node, int count) {
+        if (node == null) {
+            return new Node[] { null, null };
+        }
+        if (size(node.left) < count) {
+            Node[] parts = split(node.right, count - size(node.left) - 1);
+            node.right = parts[0];
+            update(node);
+            if (parts[1] != null) {
+                parts[1].parent = null;
+            }
+            return new Node[] { node, parts[1] };
+        } else {
+            Node[] parts = split(node.left, count);
+            node.left = parts[1];
+            update(node);
+            if (parts[0] != null) {
+                parts[0].parent = null;
+            }
+            return new Node[] { parts[0], node };
+        }
+    }
+
+    // Concatenates two trees, keeping the heap order on priorities
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        } else {
+            right.left = merge(left, right.left);
+            update(right);
+            return right;
+        }
+    }
+
+    // Recomputes the subtree size and fixes the children's parent pointers
+    private static void update(Node node) {
+        node.size = 1 + size(node.left) + size(node.right);
+        if (node.left != null) {
+            node.left.parent = node;
+        }
+        if (node.right != null) {
+            node.right.parent = node;
+        }
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static void checkIndex(int position, int bound) {
+        if (position < 0 || position >= bound) {
+            throw new IndexOutOfBoundsException("Index: " + position + ", Size: " + bound);
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package ArrayListLinkedLIst.MusicPlaylistApp;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * Non-interactive batch mode for MusicPlaylistApp.
+ *
+ * Replays a recorded edit script in the same format the interactive menu reads:
+ * a choice (1-7) on its own line, followed by the song name for 1, 2, 4 and 5, or the
+ * two 1-based indices for 3. Instead of printing the menu and a confirmation line for
+ * every command, it:
+ * - reads the script through one BufferedReader,
+ * - collects commands into batches and coalesces runs of favorite / least favorite for the
+ *   same song (only the last move of a run changes the final order, so the rest are dropped).
+ *   This is only done when the song occurs exactly once when the run is applied: with
+ *   duplicates each move picks the first occurrence again, so every move counts,
+ * - writes only displays, failures and a final summary through one BufferedWriter.
+ *
+ * Usage: java ArrayListLinkedLIst.MusicPlaylistApp.PlaylistBatch [script-file]
+ * (reads the script from standard input when no file is given)
+ */
+public class PlaylistBatch {
+
+    // Number of commands collected before a batch is applied
+    private static final int BATCH_SIZE = 4096;
+
+    private static final byte ADD = 1;
+    private static final byte REMOVE = 2;
+    private static final byte REARRANGE = 3;
+    private static final byte FAVORITE = 4;
+    private static final byte LEAST_FAVORITE = 5;
+    private static final byte DISPLAY = 6;
+    private static final byte EXIT = 7;
+
+    private final Playlist playlist;
+    private final Writer out;
+
+    // Pending batch, stored as parallel arrays to avoid one object per command
+    private final byte[] types = new byte[BATCH_SIZE];
+    private final String[] songs = new String[BATCH_SIZE];
+    private final int[] fromIndexes = new int[BATCH_SIZE];
+    private final int[] toIndexes = new int[BATCH_SIZE];
+    private int pending;
+
+    private long commands;
+    private long coalesced;
+    private long failed;
+
+    public PlaylistBatch(Playlist playlist, Writer out) {
+        this.playlist = playlist;
+        this.out = out;
+    }
+
+    // Reads and applies every command of the script; stops at end of input or choice 7
+    public void run(Reader script) throws IOException {
+        BufferedReader in = script instanceof BufferedReader
+            ? (BufferedReader) script : new BufferedReader(script, 64 * 1024);
+        String line;
+        while ((line = nextNonEmptyLine(in)) != null) {
+            byte type = parseChoice(line);
+            switch (type) {
+                case ADD:
+                case REMOVE:
+                case FAVORITE:
+                case LEAST_FAVORITE: {
+                    String song = in.readLine();
+                    if (song == null) {
+                        throw new IOException("Missing song name after choice " + type);
+                    }
+                    enqueue(type, song, 0, 0);
+                    break;
+                }
+                case REARRANGE: {
+                    String indexes = readIndexes(in);
+                    int[] parsed = parseTwoInts(indexes);
+                    if (parsed == null) {
+                        flushBatch();
+                        commands++;
+                        fail("Invalid indices: " + indexes.trim());
+                    } else {
+                        enqueue(type, null, parsed[0] - 1, parsed[1] - 1);
+                    }
+                    break;
+                }
+                case DISPLAY:
+                    enqueue(type, null, 0, 0);
+                    break;
+                case EXIT:
+                    flushBatch();
+                    return;
+                default:
+                    flushBatch();
+                    commands++;
+                    fail("Invalid choice: " + line.trim());
+            }
+        }
+        flushBatch();
+    }
+
+    // Writes a one-line summary of the run
+    public void printSummary() throws IOException {
+        out.write("Processed " + commands + " commands (" + coalesced + " coalesced, "
+            + failed + " failed). Playlist has " + playlist.size() + " songs.\n");
+    }
+
+    private void enqueue(byte type, String song, int fromIndex, int toIndex) throws IOException {
+        commands++;
+        types[pending] = type;
+        songs[pending] = song;
+        fromIndexes[pending] = fromIndex;
+        toIndexes[pending] = toIndex;
+        if (++pending == BATCH_SIZE) {
+            flushBatch();
+        }
+    }
+
+    // Applies every pending command in order
+    private void flushBatch() throws IOException {
+        for (int i = 0; i < pending; i++) {
+            if (supersededByNext(i)) {
+                coalesced++;
+            } else {
+                apply(types[i], songs[i], fromIndexes[i], toIndexes[i]);
+            }
+            songs[i] = null;
+        }
+        pending = 0;
+    }
+
+    // True if command i is a favorite / least favorite that the next command undoes anyway:
+    // the next one moves the same song again and the song occurs exactly once
+    private boolean supersededByNext(int i) {
+        if (i + 1 == pending || !isMove(types[i]) || !isMove(types[i + 1])) {
+            return false;
+        }
+        return songs[i].equals(songs[i + 1]) && playlist.count(songs[i]) == 1;
+    }
+
+    private static boolean isMove(byte type) {
+        return type == FAVORITE || type == LEAST_FAVORITE;
+    }
+
+    private void apply(byte type, String song, int fromIndex, int toIndex) throws IOException {
+        switch (type) {
+            case ADD:
+                playlist.add(song);
+                break;
+            case REMOVE:
+                if (!playlist.remove(song)) {
+                    fail("Song not found in the playlist: " + song);
+                }
+                break;
+            case REARRANGE:
+                int size = playlist.size();
+                if (fromIndex >= 0 && fromIndex < size && toIndex >= 0 && toIndex < size) {
+                    playlist.move(fromIndex, toIndex);
+                } else {
+                    fail("Invalid indices: " + (fromIndex + 1) + " " + (toIndex + 1));
+                }
+                break;
+            case FAVORITE:
+                if (!playlist.moveToFirst(song)) {
+                    fail("Song not found in the playlist: " + song);
+                }
+                break;
+            case LEAST_FAVORITE:
+                if (!playlist.moveToLast(song)) {
+                    fail("Song not found in the playlist: " + song);
+                }
+                break;
+            case DISPLAY:
+                display();
+                break;
+            default:
+                throw new IllegalStateException("Unknown command type: " + type);
+        }
+    }
+
+    private void display() throws IOException {
+        if (playlist.isEmpty()) {
+            out.write("The playlist is empty.\n");
+            return;
+        }
+        out.write("Current Playlist:\n");
+        int position = 1;
+        for (String song : playlist) {
+            out.write(Integer.toString(position++));
+            out.write(". ");
+            out.write(song);
+            out.write('\n');
+        }
+    }
+
+    private void fail(String message) throws IOException {
+        failed++;
+        out.write(message);
+        out.write('\n');
+    }
+
+    private static byte parseChoice(String line) {
+        try {
+            int choice = Integer.parseInt(line.trim());
+            return choice >= ADD && choice <= EXIT ? (byte) choice : 0;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    // Reads the text holding the two indices, which may be on one line or on two lines
+    // like with Scanner.nextInt()
+    private static String readIndexes(BufferedReader in) throws IOException {
+        String line = nextNonEmptyLine(in);
+        if (line == null) {
+            throw new IOException("Missing indices for choice 3");
+        }
+        if (line.trim().split("\\s+").length == 1) {
+            String second = nextNonEmptyLine(in);
+            if (second == null) {
+                throw new IOException("Missing indices for choice 3");
+            }
+            line = line + " " + second;
+        }
+        return line;
+    }
+
+    // Parses exactly two ints; null if a token is not a number or there are more tokens
+    private static int[] parseTwoInts(String text) {
+        String[] tokens = text.trim().split("\\s+");
+        if (tokens.length != 2) {
+            return null;
+        }
+        try {
+            return new int[] { Integer.parseInt(tokens[0]), Integer.parseInt(tokens[1]) };
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String nextNonEmptyLine(BufferedReader in) throws IOException {
+        String line;
+        while ((line = in.readLine()) != null) {
+            if (!line.trim().isEmpty()) {
+                return line;
+            }
+        }
+        return null;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Reader script = args.length > 0
+            ? Files.newBufferedReader(Paths.get(args[0]), StandardCharsets.UTF_8)
+            : new InputStreamReader(System.in, StandardCharsets.UTF_8);
+        Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), 64 * 1024);
+
+        long start = System.nanoTime();
+        PlaylistBatch batch = new PlaylistBatch(new Playlist(), out);
+        try {
+            batch.run(script);
+            batch.printSummary();
+            long micros = (System.nanoTime() - start) / 1000;
+            out.write("Elapsed: " + micros + " us\n");
+        } finally {
+            script.close();
+            out.flush();
+        }
+    }
+}
@@ -0,0 +1,388 @@
+package ArrayListLinkedLIst.MusicPlaylistApp;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A thread-safe service that manages many playlists for many listeners at once.
+ *
+ * It offers the same operations as MusicPlaylistApp (add, remove, rearrange, favorite,
+ * least favorite, display), but instead of one unsynchronized LinkedList it keeps:
+ * - Reads: every playlist publishes an immutable snapshot through a volatile field.
+ *   Readers just read that field, so they never take a lock and never block.
+ * - Writes: serialized per playlist. Each playlist id is mapped onto one of a fixed number
+ *   of lock stripes, so edits to different playlists usually run in parallel on different cores.
+ *
+ * Snapshots are persistent trees (an implicit treap whose nodes never change once built):
+ * an edit copies only the O(log n) nodes on the paths it touches and shares the rest with
+ * the previous snapshot, so publishing costs O(log n) instead of copying the playlist.
+ * The mutable Playlist behind each snapshot is only used to find songs by name, and is only
+ * ever touched while holding its stripe lock.
+ */
+public class PlaylistService {
+
+    // An immutable node of a snapshot tree; position is given by in-order traversal
+    private static final class Node {
+        final String song;
+        final int priority;
+        final int size;
+        final Node left, right;
+
+        Node(String song, int priority, Node left, Node right) {
+            this.song = song;
+            this.priority = priority;
+            this.left = left;
+            this.right = right;
+            this.size = 1 + size(left) + size(right);
+        }
+
+        Node with(Node newLeft, Node newRight) {
+            return new Node(song, priority, newLeft, newRight);
+        }
+
+        static int size(Node node) {
+            return node == null ? 0 : node.size;
+        }
+
+        // The first 'count' songs of the tree and the rest, sharing every node off the split path
+        static Node[] split(Node node, int count) {
+            if (node == null) {
+                return new Node[2];
+            }
+            int leftSize = size(node.left);
+            if (count <= leftSize) {
+                Node[] parts = split(node.left, count);
+                parts[1] = node.with(parts[1], node.right);
+                return parts;
+            }
+            Node[] parts = split(node.right, count - leftSize - 1);
+            parts[0] = node.with(node.left, parts[0]);
+            return parts;
+        }
+
+        // All songs of 'a' followed by all songs of 'b'
+        static Node merge(Node a, Node b) {
+            if (a == null) {
+                return b;
+            }
+            if (b == null) {
+                return a;
+            }
+            if (a.priority > b.priority) {
+                return a.with(a.left, merge(a.right, b));
+            }
+            return b.with(merge(a, b.left), b.right);
+        }
+
+        static Node insert(Node root, int position, Node node) {
+            Node[] parts = split(root, position);
+            return merge(merge(parts[0], node), parts[1]);
+        }
+
+        static Node remove(Node root, int position) {
+            Node[] parts = split(root, position);
+            return merge(parts[0], split(parts[1], 1)[1]);
+        }
+
+        static String get(Node node, int index) {
+            while (true) {
+                int leftSize = size(node.left);
+                if (index < leftSize) {
+                    node = node.left;
+                } else if (index == leftSize) {
+                    return node.song;
+                } else {
+                    index -= leftSize + 1;
+                    node = node.right;
+                }
+            }
+        }
+    }
+
+    // The songs of a snapshot tree as a read-only List
+    private static final class SongList extends AbstractList<String> {
+        private final Node root;
+
+        SongList(Node root) {
+            this.root = root;
+        }
+
+        @Override
+        public String get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+            }
+            return Node.get(root, index);
+        }
+
+        @Override
+        public int size() {
+            return Node.size(root);
+        }
+
+        // In-order traversal with an explicit stack: O(n) for the whole list
+        @Override
+        public Iterator<String> iterator() {
+            return new Iterator<String>() {
+                private final ArrayDeque<Node> path = new ArrayDeque<>();
+                {
+                    pushLeft(root);
+                }
+
+                private void pushLeft(Node node) {
+                    for (; node != null; node = node.left) {
+                        path.push(node);
+                    }
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return !path.isEmpty();
+                }
+
+                @Override
+                public String next() {
+                    if (path.isEmpty()) {
+                        throw new NoSuchElementException();
+                    }
+                    Node node = path.pop();
+                    pushLeft(node.right);
+                    return node.song;
+                }
+            };
+        }
+    }
+
+    // An immutable, point-in-time view of a playlist
+    public static final class Snapshot {
+        private final long version;
+        private final Node root;
+        private final List<String> songs;
+
+        private Snapshot(long version, Node root) {
+            this.version = version;
+            this.root = root;
+            this.songs = new SongList(root);
+        }
+
+        // Incremented on every successful edit of the playlist
+        public long getVersion() { return version; }
+
+        // The songs in playlist order; this list never changes
+        public List<String> getSongs() { return songs; }
+
+        @Override
+        public String toString() {
+            return songs.toString();
+        }
+    }
+
+    // One playlist: the mutable structure used by writers and the snapshot seen by readers.
+    // Every edit goes through the methods below, which apply it to both and publish.
+    private static final class Entry {
+        final Playlist playlist = new Playlist();
+        final Random random = new Random();
+        volatile Snapshot snapshot = EMPTY;
+        boolean deleted;
+
+        void insert(int position, String song) {
+            playlist.add(position, song);
+            publish(Node.insert(snapshot.root, position, new Node(song, random.nextInt(), null, null)));
+        }
+
+        void remove(int position) {
+            playlist.remove(position);
+            publish(Node.remove(snapshot.root, position));
+        }
+
+        void move(int fromIndex, int toIndex) {
+            playlist.move(fromIndex, toIndex);
+            Node root = snapshot.root;
+            String song = Node.get(root, fromIndex);
+            Node removed = Node.remove(root, fromIndex);
+            publish(Node.insert(removed, toIndex, new Node(song, random.nextInt(), null, null)));
+        }
+
+        // Publishes a new snapshot; must be called while holding the stripe lock
+        private void publish(Node root) {
+            snapshot = new Snapshot(snapshot.version + 1, root);
+        }
+    }
+
+    private static final Snapshot EMPTY = new Snapshot(0, null);
+
+    private final ConcurrentMap<String, Entry> playlists = new ConcurrentHashMap<>();
+    private final Object[] stripes;
+
+    // Creates a service with four lock stripes per available core, so that few playlists share one
+    public PlaylistService() {
+        this(Runtime.getRuntime().availableProcessors() * 4);
+    }
+
+    // Creates a service with the given number of lock stripes
+    public PlaylistService(int stripeCount) {
+        if (stripeCount <= 0) {
+            throw new IllegalArgumentException("stripeCount must be positive: " + stripeCount);
+        }
+        stripes = new Object[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Object();
+        }
+    }
+
+    // Lock-free read of the latest published snapshot of a playlist
+    public Snapshot snapshot(String playlistId) {
+        Entry entry = playlists.get(playlistId);
+        return entry == null ? EMPTY : entry.snapshot;
+    }
+
+    // Adds a song to the bottom of a playlist, creating the playlist if needed
+    public void addSong(String playlistId, String song) {
+        while (true) {
+            Entry entry = playlists.computeIfAbsent(playlistId, id -> new Entry());
+            synchronized (lockFor(playlistId)) {
+                // Retry if the playlist was deleted between the lookup and the lock
+                if (!entry.deleted) {
+                    entry.insert(entry.playlist.size(), song);
+                    return;
+                }
+            }
+        }
+    }
+
+    // Removes the first occurrence of a song; returns false if it was not found
+    public boolean removeSong(String playlistId, String song) {
+        Entry entry = playlists.get(playlistId);
+        if (entry == null) {
+            return false;
+        }
+        synchronized (lockFor(playlistId)) {
+            int position = entry.deleted ? -1 : entry.playlist.indexOf(song);
+            if (position < 0) {
+                return false;
+            }
+            entry.remove(position);
+            return true;
+        }
+    }
+
+    // Moves the song at fromIndex to toIndex (0-based); returns false on invalid indices
+    public boolean rearrangeSongs(String playlistId, int fromIndex, int toIndex) {
+        Entry entry = playlists.get(playlistId);
+        if (entry == null) {
+            return false;
+        }
+        synchronized (lockFor(playlistId)) {
+            int size = entry.playlist.size();
+            if (entry.deleted || fromIndex < 0 || fromIndex >= size || toIndex < 0 || toIndex >= size) {
+                return false;
+            }
+            entry.move(fromIndex, toIndex);
+            return true;
+        }
+    }
+
+    // Moves a song to the top; returns false if it was not found
+    public boolean markAsFavorite(String playlistId, String song) {
+        return moveSong(playlistId, song, true);
+    }
+
+    // Moves a song to the bottom; returns false if it was not found
+    public boolean markAsLeastFavorite(String playlistId, String song) {
+        return moveSong(playlistId, song, false);
+    }
+
+    private boolean moveSong(String playlistId, String song, boolean toTop) {
+        Entry entry = playlists.get(playlistId);
+        if (entry == null) {
+            return false;
+        }
+        synchronized (lockFor(playlistId)) {
+            int position = entry.deleted ? -1 : entry.playlist.indexOf(song);
+            if (position < 0) {
+                return false;
+            }
+            entry.move(position, toTop ? 0 : entry.playlist.size() - 1);
+            return true;
+        }
+    }
+
+    // Deletes a playlist; returns false if it did not exist. Snapshots already taken stay valid.
+    public boolean deletePlaylist(String playlistId) {
+        synchronized (lockFor(playlistId)) {
+            Entry entry = playlists.remove(playlistId);
+            if (entry == null) {
+                return false;
+            }
+            entry.deleted = true;
+            return true;
+        }
+    }
+
+    // Prints a playlist from its latest snapshot, without blocking writers
+    public void displayPlaylist(String playlistId) {
+        List<String> songs = snapshot(playlistId).getSongs();
+        if (songs.isEmpty()) {
+            System.out.println("The playlist is empty.");
+        } else {
+            System.out.println("Current Playlist:");
+            int position = 1;
+            for (String song : songs) {
+                System.out.println(position++ + ". " + song);
+            }
+        }
+    }
+
+    private Object lockFor(String playlistId) {
+        // Spread the hash bits so that similar ids do not pile onto one stripe
+        int hash = playlistId.hashCode();
+        hash ^= (hash >>> 16);
+        return stripes[Math.floorMod(hash, stripes.length)];
+    }
+
+    // Small demo: several listeners edit their own playlists while a reader keeps displaying one
+    public static void main(String[] args) throws InterruptedException {
+        PlaylistService service = new PlaylistService();
+        List<Thread> writers = new ArrayList<>();
+
+        for (int listener = 1; listener <= 4; listener++) {
+            String playlistId = "listener-" + listener;
+            Thread writer = new Thread(() -> {
+                for (int i = 1; i <= 1000; i++) {
+                    service.addSong(playlistId, "Song " + i);
+                }
+                service.markAsFavorite(playlistId, "Song 500");
+                service.markAsLeastFavorite(playlistId, "Song 1");
+                service.removeSong(playlistId, "Song 2");
+                service.rearrangeSongs(playlistId, 0, 1);
+            });
+            writers.add(writer);
+            writer.start();
+        }
+
+        // Readers never block: each snapshot is a consistent view of one moment
+        Snapshot snapshot = service.snapshot("listener-1");
+        System.out.println("Reader saw version " + snapshot.getVersion() + " with " + snapshot.getSongs().size() + " songs");
+
+        for (Thread writer : writers) {
+            writer.join();
+        }
+
+        for (int listener = 1; listener <= 4; listener++) {
+            Snapshot done = service.snapshot("listener-" + listener);
+            System.out.println("listener-" + listener + ": version " + done.getVersion()
+                + ", " + done.getSongs().size() + " songs, top = " + done.getSongs().get(0)
+                + ", bottom = " + done.getSongs().get(done.getSongs().size() - 1));
+        }
+
+        service.deletePlaylist("listener-4");
+        System.out.println("listener-4 after deletion: " + service.snapshot("listener-4").getSongs().size() + " songs");
+    }
+}
@@ -0,0 +1,349 @@
+package ArrayListLinkedLIst.MusicPlaylistApp;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Persists a Playlist in a directory as a compacted snapshot plus an append-only edit log.
+ *
+ * - playlist.log: every edit (add, remove, rearrange, favorite, least favorite) is appended
+ *   through a FileChannel. The channel is only forced (fsync) every 'syncEvery' edits or when
+ *   sync() is called, so a burst of edits costs one fsync instead of one per edit.
+ * - playlist.snapshot: written by compact() to a temporary file, fsynced, renamed over the old
+ *   one, and the directory fsynced so the rename itself survives a crash. It is read back
+ *   through a memory-mapped buffer, so a large playlist loads in a single sequential scan of
+ *   the mapped file; a snapshot that is too short or inconsistent fails with an IOException.
+ *
+ * Every log record carries a sequence number and a CRC32. The snapshot remembers the last
+ * sequence number it contains, so on startup only the log tail written after the snapshot is
+ * replayed. The log is read with plain FileChannel reads rather than mapped, because a torn or
+ * corrupt record at the end of the log (e.g. after a crash) stops the replay and is truncated
+ * away, and a file must not be truncated while a mapping of it is still alive. An append that
+ * fails is truncated away too, so later records never follow a torn one.
+ *
+ * Usage: check that an edit will succeed, log it, and only then apply it to getPlaylist().
+ * If logging fails the playlist is left as it was, so it never holds an edit the log lost.
+ */
+public class PlaylistStore implements Closeable {
+
+    private static final String LOG_FILE = "playlist.log";
+    private static final String SNAPSHOT_FILE = "playlist.snapshot";
+    private static final int SNAPSHOT_MAGIC = 0x504C5331; // "PLS1"
+
+    // Record types in the edit log
+    private static final byte ADD = 1;
+    private static final byte REMOVE = 2;
+    private static final byte REARRANGE = 3;
+    private static final byte FAVORITE = 4;
+    private static final byte LEAST_FAVORITE = 5;
+
+    // Record header: body length (int) + CRC32 of the body (int)
+    private static final int RECORD_HEADER = 8;
+
+    private final Path directory;
+    private final Playlist playlist;
+    private final FileChannel log;
+    private final int syncEvery;
+    private final CRC32 crc = new CRC32();
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(4096);
+    private long sequence;
+    private int unsynced;
+
+    private PlaylistStore(Path directory, Playlist playlist, FileChannel log, long sequence, int syncEvery) {
+        this.directory = directory;
+        this.playlist = playlist;
+        this.log = log;
+        this.sequence = sequence;
+        this.syncEvery = syncEvery;
+    }
+
+    // Opens (or creates) a store, fsyncing the log every 64 edits
+    public static PlaylistStore open(Path directory) throws IOException {
+        return open(directory, 64);
+    }
+
+    // Opens (or creates) a store: loads the snapshot, then replays the log tail
+    public static PlaylistStore open(Path directory, int syncEvery) throws IOException {
+        if (syncEvery <= 0) {
+            throw new IllegalArgumentException("syncEvery must be positive: " + syncEvery);
+        }
+        Files.createDirectories(directory);
+        Playlist playlist = new Playlist();
+        long snapshotSequence = loadSnapshot(directory.resolve(SNAPSHOT_FILE), playlist);
+
+        FileChannel log = FileChannel.open(directory.resolve(LOG_FILE),
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long sequence = replayLog(log, playlist, snapshotSequence);
+        log.position(log.size());
+        return new PlaylistStore(directory, playlist, log, sequence, syncEvery);
+    }
+
+    // The recovered playlist; edits to it must be recorded through the methods below
+    public Playlist getPlaylist() {
+        return playlist;
+    }
+
+    public void recordAdd(String song) throws IOException {
+        append(ADD, song, 0, 0);
+    }
+
+    public void recordRemove(String song) throws IOException {
+        append(REMOVE, song, 0, 0);
+    }
+
+    public void recordRearrange(int fromIndex, int toIndex) throws IOException {
+        append(REARRANGE, null, fromIndex, toIndex);
+    }
+
+    public void recordFavorite(String song) throws IOException {
+        append(FAVORITE, song, 0, 0);
+    }
+
+    public void recordLeastFavorite(String song) throws IOException {
+        append(LEAST_FAVORITE, song, 0, 0);
+    }
+
+    // Forces all logged edits to disk
+    public void sync() throws IOException {
+        if (unsynced > 0) {
+            log.force(false);
+            unsynced = 0;
+        }
+    }
+
+    // Writes the whole playlist to a new snapshot and empties the log
+    public void compact() throws IOException {
+        Path temp = directory.resolve(SNAPSHOT_FILE + ".tmp");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(16);
+            header.putInt(SNAPSHOT_MAGIC).putLong(sequence).putInt(playlist.size()).flip();
+            writeFully(out, header);
+
+            ByteBuffer chunk = ByteBuffer.allocateDirect(64 * 1024);
+            for (String song : playlist) {
+                byte[] bytes = song.getBytes(StandardCharsets.UTF_8);
+                if (chunk.remaining() < 4 + bytes.length) {
+                    chunk.flip();
+                    writeFully(out, chunk);
+                    chunk.clear();
+                    if (chunk.capacity() < 4 + bytes.length) {
+                        chunk = ByteBuffer.allocateDirect(4 + bytes.length);
+                    }
+                }
+                chunk.putInt(bytes.length).put(bytes);
+            }
+            chunk.flip();
+            writeFully(out, chunk);
+            out.force(true);
+        }
+        // The rename is atomic, so a crash leaves either the old or the new snapshot.
+        // Records already in the snapshot are skipped on replay even if truncate never happens.
+        Files.move(temp, directory.resolve(SNAPSHOT_FILE),
+            StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        syncDirectory(directory);
+        log.truncate(0);
+        log.position(0);
+        log.force(true);
+        unsynced = 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            sync();
+        } finally {
+            log.close();
+        }
+    }
+
+    // Makes a rename in the directory durable. Not every platform can open a directory (Windows
+    // cannot); there the rename is as durable as the file system makes it.
+    private static void syncDirectory(Path directory) throws IOException {
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(directory, StandardOpenOption.READ);
+        } catch (IOException | UnsupportedOperationException e) {
+            return;
+        }
+        try (channel) {
+            channel.force(true);
+        }
+    }
+
+    // Appends one framed record: [length][crc][sequence][type][payload]
+    private void append(byte type, String song, int fromIndex, int toIndex) throws IOException {
+        byte[] bytes = song == null ? null : song.getBytes(StandardCharsets.UTF_8);
+        int bodyLength = 8 + 1 + (bytes == null ? 8 : 4 + bytes.length);
+        if (buffer.capacity() < RECORD_HEADER + bodyLength) {
+            buffer = ByteBuffer.allocateDirect(RECORD_HEADER + bodyLength);
+        }
+        buffer.clear();
+        buffer.position(RECORD_HEADER);
+        buffer.putLong(sequence + 1).put(type);
+        if (bytes == null) {
+            buffer.putInt(fromIndex).putInt(toIndex);
+        } else {
+            buffer.putInt(bytes.length).put(bytes);
+        }
+        buffer.flip();
+
+        ByteBuffer body = buffer.duplicate();
+        body.position(RECORD_HEADER);
+        crc.reset();
+        crc.update(body);
+        buffer.putInt(0, bodyLength).putInt(4, (int) crc.getValue());
+
+        long start = log.position();
+        try {
+            writeFully(log, buffer);
+        } catch (IOException e) {
+            // Drop the partial record, or every record appended after it would be lost on replay
+            try {
+                log.truncate(start);
+                log.position(start);
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+        sequence++;
+        if (++unsynced >= syncEvery) {
+            sync();
+        }
+    }
+
+    // Reads the snapshot through a memory-mapped buffer; returns its last sequence number
+    private static long loadSnapshot(Path file, Playlist playlist) throws IOException {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (mapped.remaining() < 16 || mapped.getInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("Not a playlist snapshot: " + file);
+            }
+            long sequence = mapped.getLong();
+            int count = mapped.getInt();
+            if (sequence < 0 || count < 0) {
+                throw new IOException("Corrupt playlist snapshot header: " + file);
+            }
+            byte[] bytes = new byte[256];
+            for (int i = 0; i < count; i++) {
+                if (mapped.remaining() < 4) {
+                    throw new IOException("Playlist snapshot ends after " + i + " of " + count + " songs: " + file);
+                }
+                int length = mapped.getInt();
+                if (length < 0 || length > mapped.remaining()) {
+                    throw new IOException("Corrupt song length " + length + " in playlist snapshot: " + file);
+                }
+                if (bytes.length < length) {
+                    bytes = new byte[length];
+                }
+                mapped.get(bytes, 0, length);
+                playlist.addLast(new String(bytes, 0, length, StandardCharsets.UTF_8));
+            }
+            if (mapped.hasRemaining()) {
+                throw new IOException("Unexpected data after " + count + " songs in playlist snapshot: " + file);
+            }
+            return sequence;
+        }
+    }
+
+    // Replays every valid record newer than the snapshot; returns the last sequence number
+    private static long replayLog(FileChannel log, Playlist playlist, long snapshotSequence) throws IOException {
+        long size = log.size();
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER);
+        ByteBuffer body = ByteBuffer.allocate(4096);
+        CRC32 crc = new CRC32();
+        long sequence = snapshotSequence;
+        long validEnd = 0;
+
+        while (size - validEnd >= RECORD_HEADER) {
+            header.clear();
+            readFully(log, header, validEnd);
+            int bodyLength = header.getInt(0);
+            int checksum = header.getInt(4);
+            if (bodyLength < 9 || bodyLength > size - validEnd - RECORD_HEADER) {
+                break; // torn write at the tail
+            }
+            if (body.capacity() < bodyLength) {
+                body = ByteBuffer.allocate(Math.max(bodyLength, body.capacity() * 2));
+            }
+            body.clear().limit(bodyLength);
+            readFully(log, body, validEnd + RECORD_HEADER);
+            body.flip();
+            crc.reset();
+            crc.update(body.array(), 0, bodyLength);
+            if ((int) crc.getValue() != checksum) {
+                break; // corrupt record at the tail
+            }
+            validEnd += RECORD_HEADER + bodyLength;
+
+            long recordSequence = body.getLong();
+            if (recordSequence <= snapshotSequence) {
+                continue; // already part of the snapshot
+            }
+            apply(playlist, body);
+            sequence = recordSequence;
+        }
+
+        if (validEnd < size) {
+            log.truncate(validEnd);
+        }
+        return sequence;
+    }
+
+    // Fills 'target' from the channel, starting at 'position'
+    private static void readFully(FileChannel channel, ByteBuffer target, long position) throws IOException {
+        while (target.hasRemaining()) {
+            int read = channel.read(target, position);
+            if (read < 0) {
+                throw new IOException("Unexpected end of the playlist log");
+            }
+            position += read;
+        }
+    }
+
+    private static void apply(Playlist playlist, ByteBuffer body) {
+        byte type = body.get();
+        if (type == REARRANGE) {
+            playlist.move(body.getInt(), body.getInt());
+            return;
+        }
+        byte[] bytes = new byte[body.getInt()];
+        body.get(bytes);
+        String song = new String(bytes, StandardCharsets.UTF_8);
+        switch (type) {
+            case ADD:
+                playlist.add(song);
+                break;
+            case REMOVE:
+                playlist.remove(song);
+                break;
+            case FAVORITE:
+                playlist.moveToFirst(song);
+                break;
+            case LEAST_FAVORITE:
+                playlist.moveToLast(song);
+                break;
+            default:
+                throw new IllegalStateException("Unknown log record type: " + type);
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer source) throws IOException {
+        while (source.hasRemaining()) {
+            channel.write(source);
+        }
+    }
+}
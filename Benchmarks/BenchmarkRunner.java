@@ -0,0 +1,157 @@
+package Benchmarks;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * A small, dependency-free micro-benchmark harness.
+ *
+ * For every benchmark case and every size it:
+ * 1. builds a fresh collection of that size (setup),
+ * 2. runs the operation repeatedly for a warm-up period so the JIT can compile it, doubling
+ *    the batch size (invocations per timed sample) until a batch takes at least MIN_BATCH_NANOS,
+ * 3. runs it again for a measurement period, timing every batch.
+ *
+ * Calling System.nanoTime() costs about as much as the smallest operations, so timing every
+ * invocation would mostly measure the clock. Percentiles are therefore of the mean time per
+ * invocation within a batch; for operations slower than MIN_BATCH_NANOS the batch is 1.
+ * It also reports throughput (invocations per second) and the bytes allocated per invocation
+ * by the benchmark thread (the same number JMH's GC profiler reports as gc.alloc.rate.norm).
+ */
+public class BenchmarkRunner {
+
+    // One invocation of a benchmarked operation; returns a value so the JIT cannot drop the work
+    public interface Workload {
+        long run();
+    }
+
+    // A named operation, with a setup function that builds the collection for a given size
+    public static final class Case {
+        final String name;
+        final int minSize;
+        final int maxSize;
+        final IntFunction<Workload> setup;
+
+        public Case(String name, int maxSize, IntFunction<Workload> setup) {
+            this(name, 0, maxSize, setup);
+        }
+
+        // For operations that need existing elements, e.g. removing the last one
+        public Case(String name, int minSize, int maxSize, IntFunction<Workload> setup) {
+            this.name = name;
+            this.minSize = minSize;
+            this.maxSize = maxSize;
+            this.setup = setup;
+        }
+    }
+
+    private static final int MAX_SAMPLES = 1_000_000;
+    private static final long MIN_BATCH_NANOS = 10_000;
+    private static final int MAX_BATCH = 1 << 20;
+
+    private final long warmupNanos;
+    private final long measureNanos;
+    private final com.sun.management.ThreadMXBean threads;
+    private long blackhole;
+
+    public BenchmarkRunner(long warmupMillis, long measureMillis) {
+        this.warmupNanos = warmupMillis * 1_000_000;
+        this.measureNanos = measureMillis * 1_000_000;
+        this.threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    }
+
+    // Runs every case whose name contains 'filter' at every size up to the case's limit
+    public void runAll(List<Case> cases, int[] sizes, String filter) {
+        System.out.printf("%-50s %10s %14s %10s %10s %10s %10s %12s %8s%n",
+            "benchmark", "size", "ops/s", "p50 ns", "p90 ns", "p99 ns", "p99.9 ns", "B/op", "batch");
+        for (Case benchmark : cases) {
+            if (filter != null && !benchmark.name.contains(filter)) {
+                continue;
+            }
+            for (int size : sizes) {
+                if (size < benchmark.minSize) {
+                    System.out.printf("%-50s %10d %14s%n", benchmark.name, size,
+                        "(skipped: size must be at least " + benchmark.minSize + ")");
+                    continue;
+                }
+                if (size > benchmark.maxSize) {
+                    System.out.printf("%-50s %10d %14s%n", benchmark.name, size, "(skipped: too slow at this size)");
+                    continue;
+                }
+                run(benchmark, size);
+            }
+        }
+        if (blackhole == 42) {
+            System.out.println();
+        }
+    }
+
+    private void run(Case benchmark, int size) {
+        Workload workload = benchmark.setup.apply(size);
+
+        // Warm-up, growing the batch until one batch is long enough to time accurately
+        int batch = 1;
+        long warmupEnd = System.nanoTime() + warmupNanos;
+        long time = System.nanoTime();
+        while (time < warmupEnd) {
+            long before = time;
+            for (int i = 0; i < batch; i++) {
+                blackhole += workload.run();
+            }
+            time = System.nanoTime();
+            if (time - before < MIN_BATCH_NANOS && batch < MAX_BATCH) {
+                batch *= 2;
+            }
+        }
+
+        // Allocated up front so that recording samples does not count towards B/op
+        long[] samples = new long[MAX_SAMPLES];
+        int count = 0;
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        long end = start + measureNanos;
+        long now = start;
+        // At least a few samples, even for very slow operations
+        while ((now < end || count < 5) && count < MAX_SAMPLES) {
+            long before = now;
+            for (int i = 0; i < batch; i++) {
+                blackhole += workload.run();
+            }
+            now = System.nanoTime();
+            samples[count++] = now - before;
+        }
+        long elapsed = now - start;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        long invocations = (long) count * batch;
+
+        Arrays.sort(samples, 0, count);
+        System.out.printf("%-50s %10d %14.0f %10.1f %10.1f %10.1f %10.1f %12.1f %8d%n",
+            benchmark.name, size, invocations * 1e9 / elapsed,
+            percentile(samples, count, 0.50, batch), percentile(samples, count, 0.90, batch),
+            percentile(samples, count, 0.99, batch), percentile(samples, count, 0.999, batch),
+            (double) allocated / invocations, batch);
+    }
+
+    // Percentile of the batch times, as nanoseconds per invocation
+    private static double percentile(long[] sorted, int count, double fraction, int batch) {
+        int index = (int) Math.ceil(fraction * count) - 1;
+        return (double) sorted[Math.max(0, Math.min(count - 1, index))] / batch;
+    }
+
+    // Parses "10,1000,100000" into an array of sizes
+    static int[] parseSizes(String text) {
+        List<Integer> sizes = new ArrayList<>();
+        for (String part : text.split(",")) {
+            int size = Integer.parseInt(part.trim().replace("_", ""));
+            if (size < 0) {
+                throw new IllegalArgumentException("Sizes cannot be negative: " + size);
+            }
+            sizes.add(size);
+        }
+        return sizes.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
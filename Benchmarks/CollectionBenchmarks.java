@@ -0,0 +1,254 @@
+package Benchmarks;
+
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.Stack;
+
+import ArrayListLinkedLIst.MusicPlaylistApp.Playlist;
+import PriorityQueue.IndexedPriorityQueue;
+import StackVector.StackLab.Lab;
+import StackVector.StackLab.LifoStack;
+
+/**
+ * Benchmarks for the exact operations the examples in this repository use, so the
+ * performance notes in the .MD files and code comments can be checked.
+ *
+ * Usage:
+ *   java Benchmarks.CollectionBenchmarks [--sizes 10,1000,100000,10000000] [--filter Stack]
+ *                                        [--warmup ms] [--measure ms]
+ *
+ * Each case says what one invocation is. Sizes are the number of elements already in the
+ * collection; cases whose invocation is O(n) or worse skip sizes that would take too long.
+ */
+public class CollectionBenchmarks {
+
+    private static final int ALL = Integer.MAX_VALUE;
+
+    public static void main(String[] args) {
+        String sizes = "10,1000,100000";
+        String filter = null;
+        long warmup = 300;
+        long measure = 1000;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--sizes": sizes = args[i + 1]; break;
+                case "--filter": filter = args[i + 1]; break;
+                case "--warmup": warmup = Long.parseLong(args[i + 1]); break;
+                case "--measure": measure = Long.parseLong(args[i + 1]); break;
+                default: throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        new BenchmarkRunner(warmup, measure).runAll(cases(), BenchmarkRunner.parseSizes(sizes), filter);
+    }
+
+    static List<BenchmarkRunner.Case> cases() {
+        List<BenchmarkRunner.Case> cases = new ArrayList<>();
+
+        // StackExampleOldMethod: java.util.Stack (synchronized, extends Vector)
+        cases.add(new BenchmarkRunner.Case("StackExampleOldMethod push+pop", ALL, size -> {
+            Stack<String> stack = new Stack<>();
+            fill(size, stack::push);
+            return () -> {
+                stack.push("Candy Kong");
+                return stack.pop().length();
+            };
+        }));
+        cases.add(new BenchmarkRunner.Case("StackExampleOldMethod search(middle)", 1_000_000, size -> {
+            Stack<String> stack = new Stack<>();
+            fill(size, stack::push);
+            String middle = name(size / 2);
+            return () -> stack.search(middle);
+        }));
+
+        // Lab / StackExampleNewMethod: ArrayDeque and ConcurrentStack through Lab's methods
+        Lab lab = new Lab();
+        cases.add(new BenchmarkRunner.Case("Lab ArrayDeque push+peek+pop", ALL, size -> {
+            Deque<String> stack = lab.createNewStack();
+            fill(size, item -> lab.addToTopOfStack(stack, item));
+            return () -> {
+                lab.addToTopOfStack(stack, "item");
+                lab.getTopOfStackWithoutRemoving(stack);
+                return lab.removeFromTopOfStack(stack).length();
+            };
+        }));
+        cases.add(new BenchmarkRunner.Case("Lab ConcurrentStack push+peek+pop", ALL, size -> {
+            LifoStack<String> stack = lab.createNewConcurrentStack();
+            fill(size, item -> lab.addToTopOfStack(stack, item));
+            return () -> {
+                lab.addToTopOfStack(stack, "item");
+                lab.getTopOfStackWithoutRemoving(stack);
+                return lab.removeFromTopOfStack(stack).length();
+            };
+        }));
+
+        // SuperHeroesList: LinkedList vs ArrayList for the same List calls
+        for (String kind : new String[] { "LinkedList", "ArrayList" }) {
+            cases.add(new BenchmarkRunner.Case("SuperHeroesList " + kind + " get(size/2)", 1_000_000, size -> {
+                List<String> list = newList(kind, size);
+                int middle = size / 2;
+                return () -> list.get(middle).length();
+            }));
+            cases.add(new BenchmarkRunner.Case("SuperHeroesList " + kind + " add(1)+remove(1)", ALL, size -> {
+                List<String> list = newList(kind, size);
+                return () -> {
+                    list.add(1, "Spider Woman");
+                    return list.remove(1).length();
+                };
+            }));
+            cases.add(new BenchmarkRunner.Case("SuperHeroesList " + kind + " remove(last Object)+add", 1_000_000, size -> {
+                List<String> list = newList(kind, size);
+                String last = list.get(list.size() - 1);
+                return () -> {
+                    list.remove(last);
+                    list.add(last);
+                    return list.size();
+                };
+            }));
+        }
+
+        // MusicPlaylistApp: the original LinkedList operations vs the indexed Playlist
+        cases.add(new BenchmarkRunner.Case("MusicPlaylistApp LinkedList markAsFavorite", 1, 1_000_000, size -> {
+            LinkedList<String> playlist = new LinkedList<>();
+            fill(size, playlist::add);
+            return () -> {
+                String song = playlist.getLast();
+                if (playlist.contains(song)) {
+                    playlist.remove(song);
+                    playlist.addFirst(song);
+                }
+                return playlist.size();
+            };
+        }));
+        cases.add(new BenchmarkRunner.Case("MusicPlaylistApp Playlist markAsFavorite", 1, ALL, size -> {
+            Playlist playlist = new Playlist();
+            fill(size, playlist::add);
+            return () -> {
+                playlist.moveToFirst(playlist.get(playlist.size() - 1));
+                return playlist.size();
+            };
+        }));
+        cases.add(new BenchmarkRunner.Case("MusicPlaylistApp LinkedList display get(i)", 10_000, size -> {
+            LinkedList<String> playlist = new LinkedList<>();
+            fill(size, playlist::add);
+            return () -> {
+                long total = 0;
+                for (int i = 0; i < playlist.size(); i++) {
+                    total += playlist.get(i).length();
+                }
+                return total;
+            };
+        }));
+        cases.add(new BenchmarkRunner.Case("MusicPlaylistApp Playlist display iterate", ALL, size -> {
+            Playlist playlist = new Playlist();
+            fill(size, playlist::add);
+            return () -> {
+                long total = 0;
+                for (String song : playlist) {
+                    total += song.length();
+                }
+                return total;
+            };
+        }));
+
+        // PriorityQueueDemo: add a random state, poll the smallest
+        cases.add(new BenchmarkRunner.Case("PriorityQueueDemo add+poll", ALL, size -> {
+            PriorityQueue<String> pq = new PriorityQueue<>();
+            Random random = new Random(42);
+            fill(size, pq::add);
+            String[] states = { "Alabama", "Alaska", "Arizona", "Texas", "Utah", "Vermont", "Wyoming" };
+            return () -> {
+                pq.add(states[random.nextInt(states.length)]);
+                return pq.poll().length();
+            };
+        }));
+
+        // Re-prioritizing one queued element: PriorityQueue must remove (O(n)) and re-add
+        cases.add(new BenchmarkRunner.Case("PriorityQueue reprioritize remove+add", 1_000_000, size -> {
+            PriorityQueue<Integer> pq = new PriorityQueue<>();
+            Integer[] entries = new Integer[Math.max(size, 1)];
+            for (int i = 0; i < entries.length; i++) {
+                entries[i] = i;
+                pq.add(entries[i]);
+            }
+            Random random = new Random(42);
+            return () -> {
+                int i = random.nextInt(entries.length);
+                pq.remove(entries[i]);
+                entries[i] = random.nextInt(entries.length);
+                pq.add(entries[i]);
+                return pq.size();
+            };
+        }));
+        cases.add(new BenchmarkRunner.Case("IndexedPriorityQueue reprioritize update", ALL, size -> {
+            IndexedPriorityQueue<Integer> pq = new IndexedPriorityQueue<>();
+            List<IndexedPriorityQueue.Handle<Integer>> handles = new ArrayList<>();
+            for (int i = 0; i < Math.max(size, 1); i++) {
+                handles.add(pq.insert(i));
+            }
+            Random random = new Random(42);
+            return () -> {
+                pq.update(handles.get(random.nextInt(handles.size())), random.nextInt(handles.size()));
+                return pq.size();
+            };
+        }));
+
+        // IterationExamples: the three ways to traverse a whole ArrayList
+        cases.add(new BenchmarkRunner.Case("IterationExamples enhanced for loop", ALL, size -> {
+            List<String> list = newList("ArrayList", size);
+            return () -> {
+                long total = 0;
+                for (String element : list) {
+                    total += element.length();
+                }
+                return total;
+            };
+        }));
+        cases.add(new BenchmarkRunner.Case("IterationExamples forEach()", ALL, size -> {
+            List<String> list = newList("ArrayList", size);
+            long[] total = new long[1];
+            return () -> {
+                total[0] = 0;
+                list.forEach(element -> total[0] += element.length());
+                return total[0];
+            };
+        }));
+        cases.add(new BenchmarkRunner.Case("IterationExamples Iterator", ALL, size -> {
+            List<String> list = newList("ArrayList", size);
+            return () -> {
+                long total = 0;
+                Iterator<String> iterator = list.iterator();
+                while (iterator.hasNext()) {
+                    total += iterator.next().length();
+                }
+                return total;
+            };
+        }));
+
+        return cases;
+    }
+
+    private interface Sink {
+        void accept(String item);
+    }
+
+    private static void fill(int size, Sink sink) {
+        for (int i = 0; i < size; i++) {
+            sink.accept(name(i));
+        }
+    }
+
+    private static String name(int i) {
+        return "Element " + i;
+    }
+
+    private static List<String> newList(String kind, int size) {
+        List<String> list = kind.equals("LinkedList") ? new LinkedList<>() : new ArrayList<>();
+        fill(Math.max(size, 2), list::add);
+        return list;
+    }
+}
@@ -0,0 +1,67 @@
+package ComparableComparator.Exercise;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares the hand-written comparators with the same orders built from Comparator.comparing.
+ *
+ * - NewStudent.StudentSortingComparator (name descending, then age) against
+ *   comparing(name, reverseOrder()).thenComparing(age), which boxes the age on every
+ *   comparison, and against thenComparingInt(age), which does not.
+ * - Sortbyroll (Integer.compare on rollno) against comparingInt(rollno).
+ *
+ * Each comparator sorts a copy of the same N records with List.sort; the table shows the best
+ * of a few rounds and checks that every comparator gives the same order as the hand-written one.
+ * This is a rough manual comparison; timings depend on the machine and JVM flags.
+ * Pass N as the first argument (the default is 1 million).
+ */
+public class ComparatorComparison {
+
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        String[] firstNames = { "Ajay", "Sneha", "Simran", "Mayank", "Anshul", "Solanki", "Aggarwal" };
+        Random random = new Random(42);
+
+        List<NewStudent> newStudents = new ArrayList<>(n);
+        List<Student> students = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            String name = firstNames[random.nextInt(firstNames.length)] + random.nextInt(1000);
+            newStudents.add(new NewStudent(name, 18 + random.nextInt(50)));
+            students.add(new Student(random.nextInt(n), name, "address " + i));
+        }
+
+        System.out.println("Sorting " + n + " records, best of " + ROUNDS + " rounds:");
+        Comparator<NewStudent> byNameThenAge = new NewStudent.StudentSortingComparator();
+        List<NewStudent> expectedNew = report("StudentSortingComparator", newStudents, byNameThenAge, null);
+        report("comparing().thenComparing()", newStudents,
+            Comparator.comparing((NewStudent s) -> s.Name, Comparator.reverseOrder()).thenComparing(s -> s.Age),
+            expectedNew);
+        report("comparing().thenComparingInt()", newStudents,
+            Comparator.comparing((NewStudent s) -> s.Name, Comparator.reverseOrder()).thenComparingInt(s -> s.Age),
+            expectedNew);
+
+        List<Student> expected = report("Sortbyroll", students, new Sortbyroll(), null);
+        report("comparingInt()", students, Comparator.comparingInt((Student s) -> s.rollno), expected);
+    }
+
+    // Sorts copies of 'input' and prints the best time; returns the sorted copy
+    private static <T> List<T> report(String name, List<T> input, Comparator<? super T> comparator,
+                                      List<T> expected) {
+        long best = Long.MAX_VALUE;
+        List<T> sorted = null;
+        for (int round = 0; round < ROUNDS; round++) {
+            sorted = new ArrayList<>(input);
+            long start = System.nanoTime();
+            sorted.sort(comparator);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        System.out.printf("%-32s %8.1f ms%s%n", name, best / 1e6,
+            expected == null ? "" : ", same order: " + expected.equals(sorted));
+        return sorted;
+    }
+}
@@ -0,0 +1,340 @@
+package ComparableComparator.Exercise;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.function.Consumer;
+
+/**
+ * Sorts record streams that do not fit in memory, with an external merge sort.
+ *
+ * 1. Run generation: records are read from an Iterator into a buffer of at most
+ *    'maxRecordsInMemory' records. Each full buffer is sorted with ParallelSort (using the
+ *    existing comparators) and spilled to a temporary run file in a compact binary format.
+ * 2. Merging: the run files are read back through buffered streams and merged k ways with a
+ *    PriorityQueue holding the head record of every run, as in PriorityQueueDemo. If there are
+ *    more runs than 'fanIn', groups of runs are merged into bigger runs first.
+ *
+ * Memory use is bounded by maxRecordsInMemory records plus one buffered head per open run.
+ * Every temporary run file is deleted before sort() returns, also when it fails.
+ * The sort is stable: runs hold consecutive input records, and ties between runs are broken
+ * by run number, so the output equals Collections.sort on the same input.
+ */
+public class ExternalSort<T> {
+
+    // Writes and reads one record in a compact binary form
+    public interface RecordCodec<T> {
+        void write(DataOutputStream out, T record) throws IOException;
+
+        T read(DataInputStream in) throws IOException;
+    }
+
+    // rollno, name, address
+    static final RecordCodec<Student> STUDENT_CODEC = new RecordCodec<Student>() {
+        @Override
+        public void write(DataOutputStream out, Student student) throws IOException {
+            out.writeInt(student.rollno);
+            writeString(out, student.name);
+            writeString(out, student.address);
+        }
+
+        @Override
+        public Student read(DataInputStream in) throws IOException {
+            return new Student(in.readInt(), readString(in), readString(in));
+        }
+    };
+
+    // Name, Age
+    static final RecordCodec<NewStudent> NEW_STUDENT_CODEC = new RecordCodec<NewStudent>() {
+        @Override
+        public void write(DataOutputStream out, NewStudent student) throws IOException {
+            writeString(out, student.Name);
+            out.writeInt(student.Age);
+        }
+
+        @Override
+        public NewStudent read(DataInputStream in) throws IOException {
+            return new NewStudent(readString(in), in.readInt());
+        }
+    };
+
+    private static final int IO_BUFFER = 64 * 1024;
+
+    private final Comparator<? super T> comparator;
+    private final RecordCodec<T> codec;
+    private final int maxRecordsInMemory;
+    private final int fanIn;
+    private final Path tempDirectory;
+
+    public ExternalSort(Comparator<? super T> comparator, RecordCodec<T> codec, int maxRecordsInMemory,
+                        int fanIn, Path tempDirectory) {
+        if (maxRecordsInMemory < 1) {
+            throw new IllegalArgumentException("maxRecordsInMemory must be positive: " + maxRecordsInMemory);
+        }
+        if (fanIn < 2) {
+            throw new IllegalArgumentException("fanIn must be at least 2: " + fanIn);
+        }
+        this.comparator = comparator;
+        this.codec = codec;
+        this.maxRecordsInMemory = maxRecordsInMemory;
+        this.fanIn = fanIn;
+        this.tempDirectory = tempDirectory;
+    }
+
+    // Reads every record from 'input' and passes them to 'output' in sorted order
+    public void sort(Iterator<? extends T> input, Consumer<? super T> output) throws IOException {
+        // Every temporary file created so far, deleted at the end whatever happens
+        List<Path> created = new ArrayList<>();
+        List<Path> runs = new ArrayList<>();
+        try {
+            // 1. Sorted runs, each at most maxRecordsInMemory records
+            List<T> buffer = new ArrayList<>();
+            while (input.hasNext()) {
+                buffer.add(input.next());
+                if (buffer.size() == maxRecordsInMemory) {
+                    runs.add(writeRun(buffer, created));
+                    buffer.clear();
+                }
+            }
+            if (runs.isEmpty()) {
+                // Everything fit in memory: no need to touch the disk
+                ParallelSort.sort(buffer, comparator);
+                buffer.forEach(output);
+                return;
+            }
+            if (!buffer.isEmpty()) {
+                runs.add(writeRun(buffer, created));
+                buffer.clear();
+            }
+
+            // 2. Merge groups of fanIn runs until one final merge is left
+            while (runs.size() > fanIn) {
+                List<Path> merged = new ArrayList<>();
+                for (int from = 0; from < runs.size(); from += fanIn) {
+                    List<Path> group = runs.subList(from, Math.min(runs.size(), from + fanIn));
+                    Path run = createRunFile(created);
+                    try (DataOutputStream out = openOutput(run)) {
+                        merge(group, record -> write(out, record));
+                    }
+                    deleteAll(group);
+                    merged.add(run);
+                }
+                runs = merged;
+            }
+            merge(runs, output);
+        } catch (Throwable failure) {
+            deleteAll(created, failure);
+            throw failure;
+        }
+        deleteAll(created, null);
+    }
+
+    private Path createRunFile(List<Path> created) throws IOException {
+        Path run = Files.createTempFile(tempDirectory, "run", ".bin");
+        created.add(run);
+        return run;
+    }
+
+    private Path writeRun(List<T> buffer, List<Path> created) throws IOException {
+        ParallelSort.sort(buffer, comparator);
+        Path run = createRunFile(created);
+        try (DataOutputStream out = openOutput(run)) {
+            for (T record : buffer) {
+                codec.write(out, record);
+            }
+        }
+        return run;
+    }
+
+    // The current head record of one open run
+    private final class RunReader implements Closeable {
+        final int runIndex;
+        final DataInputStream in;
+        T head;
+
+        RunReader(int runIndex, Path run) throws IOException {
+            this.runIndex = runIndex;
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(run), IO_BUFFER));
+        }
+
+        // Reads the next record into 'head'; returns false at the end of the run. The end is only
+        // accepted between two records: a run that ends inside a record is corrupt.
+        boolean advance() throws IOException {
+            in.mark(1);
+            if (in.read() < 0) {
+                head = null;
+                return false;
+            }
+            in.reset();
+            try {
+                head = codec.read(in);
+                return true;
+            } catch (EOFException e) {
+                throw new IOException("Run file " + runIndex + " ends in the middle of a record", e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    // k-way merge: always emit the smallest head, ties going to the earlier run
+    private void merge(List<Path> runs, Consumer<? super T> output) throws IOException {
+        PriorityQueue<RunReader> heads = new PriorityQueue<>(runs.size(), (a, b) -> {
+            int c = comparator.compare(a.head, b.head);
+            return c != 0 ? c : Integer.compare(a.runIndex, b.runIndex);
+        });
+        List<RunReader> readers = new ArrayList<>();
+        try {
+            for (int i = 0; i < runs.size(); i++) {
+                RunReader reader = new RunReader(i, runs.get(i));
+                readers.add(reader);
+                if (reader.advance()) {
+                    heads.add(reader);
+                }
+            }
+            while (!heads.isEmpty()) {
+                RunReader smallest = heads.poll();
+                output.accept(smallest.head);
+                if (smallest.advance()) {
+                    heads.add(smallest);
+                }
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            for (RunReader reader : readers) {
+                reader.close();
+            }
+        }
+    }
+
+    private void write(DataOutputStream out, T record) {
+        try {
+            codec.write(out, record);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static DataOutputStream openOutput(Path file) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), IO_BUFFER));
+    }
+
+    private static void deleteAll(List<Path> files) throws IOException {
+        for (Path file : files) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    // Tries to delete every file. Failures are added to 'failure' if the sort already failed,
+    // so they do not hide the original exception; otherwise the first one is thrown.
+    private static void deleteAll(List<Path> files, Throwable failure) throws IOException {
+        IOException first = null;
+        for (Path file : files) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                if (failure != null) {
+                    failure.addSuppressed(e);
+                } else if (first == null) {
+                    first = e;
+                } else {
+                    first.addSuppressed(e);
+                }
+            }
+        }
+        if (first != null) {
+            throw first;
+        }
+    }
+
+    // Strings are written as their UTF-8 length (-1 for null) followed by the bytes.
+    // writeUTF is not used: it cannot write strings over 64 KB of modified UTF-8.
+    static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length == -1) {
+            return null;
+        }
+        if (length < 0) {
+            throw new IOException("Corrupt string length: " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Sorts generated students with only a tenth of them in memory at a time
+    public static void main(String[] args) throws IOException {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        String[] firstNames = { "Ajay", "Sneha", "Simran", "Mayank", "Anshul", "Solanki", "Aggarwal" };
+
+        // The input is generated on the fly, as if streamed from a roster export
+        Iterator<NewStudent> roster = new Iterator<NewStudent>() {
+            private final Random random = new Random(42);
+            private int produced;
+
+            @Override
+            public boolean hasNext() {
+                return produced < n;
+            }
+
+            @Override
+            public NewStudent next() {
+                produced++;
+                return new NewStudent(firstNames[random.nextInt(firstNames.length)] + random.nextInt(1000),
+                    18 + random.nextInt(50));
+            }
+        };
+
+        Path tempDirectory = Files.createTempDirectory("external-sort");
+        ExternalSort<NewStudent> sorter = new ExternalSort<>(new NewStudent.StudentSortingComparator(),
+            NEW_STUDENT_CODEC, Math.max(1, n / 10), 4, tempDirectory);
+
+        List<NewStudent> sorted = new ArrayList<>(n);
+        long start = System.nanoTime();
+        sorter.sort(roster, sorted::add);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        Files.deleteIfExists(tempDirectory);
+
+        // Check against an in-memory sort of the same input
+        Random random = new Random(42);
+        List<NewStudent> expected = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            expected.add(new NewStudent(firstNames[random.nextInt(firstNames.length)] + random.nextInt(1000),
+                18 + random.nextInt(50)));
+        }
+        Collections.sort(expected, new NewStudent.StudentSortingComparator());
+
+        System.out.println("Externally sorted " + n + " students in " + millis + " ms");
+        System.out.println("First: " + sorted.get(0) + ", last: " + sorted.get(n - 1));
+        System.out.println("Same order as Collections.sort: " + expected.toString().equals(sorted.toString()));
+    }
+}
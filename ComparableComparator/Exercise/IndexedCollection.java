@@ -0,0 +1,364 @@
+package ComparableComparator.Exercise;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+/**
+ * A collection of records that keeps several sorted indexes up to date.
+ *
+ * ReverseOneField re-sorts the whole ArrayList every time it wants another order. Here every
+ * index (by rollno, by name, by StudentSortingComparator, ...) is a balanced search tree of
+ * (key, insertion number) entries, updated on every add and remove in O(log n). Switching to
+ * another order is just iterating another index, and range queries such as "rollno 100 to
+ * 200" or "names starting with S" cost O(log n + k) for k results.
+ *
+ * Records with equal keys are kept in insertion order, so an index iterates in the same
+ * order as a stable Collections.sort of the records in insertion order.
+ * Records are tracked by identity, and the key fields of a record must not change while it
+ * is in the collection (remove it, change it, and add it again).
+ */
+public class IndexedCollection<T> extends AbstractCollection<T> {
+
+    // Insertion number of every record, and the records in insertion order
+    private final Map<T, Long> sequences = new IdentityHashMap<>();
+    private final TreeMap<Long, T> inInsertionOrder = new TreeMap<>();
+    private final List<Index<?>> indexes = new ArrayList<>();
+    private long nextSequence;
+
+    // One index entry; the sequence number breaks ties between equal keys
+    private static final class Entry<K, T> {
+        final K key;
+        final long sequence;
+        final T record;
+
+        Entry(K key, long sequence, T record) {
+            this.key = key;
+            this.sequence = sequence;
+            this.record = record;
+        }
+    }
+
+    /**
+     * A live sorted view of the collection, ordered by a key and a comparator on that key.
+     */
+    public final class Index<K> implements Iterable<T> {
+        private final Function<? super T, ? extends K> keyExtractor;
+        private final Comparator<? super K> order;
+        private final TreeSet<Entry<K, T>> entries;
+
+        private Index(Function<? super T, ? extends K> keyExtractor, Comparator<? super K> order) {
+            this.keyExtractor = keyExtractor;
+            this.order = order;
+            this.entries = new TreeSet<>((a, b) -> {
+                int c = order.compare(a.key, b.key);
+                return c != 0 ? c : Long.compare(a.sequence, b.sequence);
+            });
+        }
+
+        private void insert(T record, long sequence) {
+            entries.add(new Entry<>(keyExtractor.apply(record), sequence, record));
+        }
+
+        private void delete(T record, long sequence) {
+            entries.remove(new Entry<>(keyExtractor.apply(record), sequence, record));
+        }
+
+        // All records in index order
+        @Override
+        public Iterator<T> iterator() {
+            return records(entries).iterator();
+        }
+
+        // All records in reverse index order
+        public Iterable<T> descending() {
+            return records(entries.descendingSet());
+        }
+
+        public List<T> toList() {
+            List<T> list = new ArrayList<>(entries.size());
+            for (T record : this) {
+                list.add(record);
+            }
+            return list;
+        }
+
+        // Records whose key is between 'from' and 'to' (both inclusive, in index order)
+        public List<T> range(K from, K to) {
+            if (order.compare(from, to) > 0) {
+                return Collections.emptyList();
+            }
+            return range(from, true, to, true);
+        }
+
+        // Records between 'from' and 'to' in index order, each bound inclusive or exclusive.
+        // The sentinel sequence numbers place a bound before or after every entry with that key.
+        private List<T> range(K from, boolean fromInclusive, K to, boolean toInclusive) {
+            Entry<K, T> low = new Entry<>(from, fromInclusive ? Long.MIN_VALUE : Long.MAX_VALUE, null);
+            Entry<K, T> high = new Entry<>(to, toInclusive ? Long.MAX_VALUE : Long.MIN_VALUE, null);
+            if (entries.comparator().compare(low, high) > 0) {
+                return Collections.emptyList();
+            }
+            return toList(entries.subSet(low, true, high, false));
+        }
+
+        // Records whose key equals 'key'
+        public List<T> get(K key) {
+            return range(key, key);
+        }
+
+        // Records whose key is at least 'from' in index order
+        public List<T> from(K from) {
+            return toList(entries.tailSet(new Entry<>(from, Long.MIN_VALUE, null), true));
+        }
+
+        // Records whose key is at most 'to' in index order
+        public List<T> to(K to) {
+            return toList(entries.headSet(new Entry<>(to, Long.MAX_VALUE, null), true));
+        }
+
+        // Smallest record in index order, or null if the collection is empty
+        public T first() {
+            return entries.isEmpty() ? null : entries.first().record;
+        }
+
+        // Largest record in index order, or null if the collection is empty
+        public T last() {
+            return entries.isEmpty() ? null : entries.last().record;
+        }
+
+        private List<T> toList(NavigableSet<Entry<K, T>> view) {
+            List<T> list = new ArrayList<>(view.size());
+            for (Entry<K, T> entry : view) {
+                list.add(entry.record);
+            }
+            return list;
+        }
+    }
+
+    // Adds an index ordered by the key, e.g. addIndex(s -> s.rollno, Comparator.naturalOrder())
+    public <K> Index<K> addIndex(Function<? super T, ? extends K> key, Comparator<? super K> order) {
+        Index<K> index = new Index<>(key, order);
+        for (Map.Entry<Long, T> e : inInsertionOrder.entrySet()) {
+            index.insert(e.getValue(), e.getKey());
+        }
+        indexes.add(index);
+        return index;
+    }
+
+    // Adds an index ordered by a comparator on the whole record, e.g. Sortbyroll
+    public Index<T> addIndex(Comparator<? super T> order) {
+        return addIndex(Function.identity(), order);
+    }
+
+    // Records in a String-keyed index whose key starts with 'prefix'. The index must be
+    // ordered by String.compareTo or its reverse (e.g. Comparator.reverseOrder()).
+    public List<T> startsWith(Index<String> index, String prefix) {
+        // The keys starting with the prefix are exactly those from the prefix (inclusive) up to
+        // its successor (exclusive): the prefix with its last char incremented
+        String successor = successor(prefix);
+        boolean ascending = index.order.compare("a", "b") < 0;
+        if (successor == null) {
+            // Empty or all Character.MAX_VALUE: no String after the prefix lacks it
+            return ascending ? index.from(prefix) : index.to(prefix);
+        }
+        return ascending ? index.range(prefix, true, successor, false) : index.range(successor, false, prefix, true);
+    }
+
+    // The smallest String greater than every String starting with 'prefix', or null if none exists.
+    // Trailing Character.MAX_VALUE chars cannot be incremented, so they are dropped first.
+    private static String successor(String prefix) {
+        int end = prefix.length();
+        while (end > 0 && prefix.charAt(end - 1) == Character.MAX_VALUE) {
+            end--;
+        }
+        if (end == 0) {
+            return null;
+        }
+        return prefix.substring(0, end - 1) + (char) (prefix.charAt(end - 1) + 1);
+    }
+
+    // Adds the record to every index; returns false if this same record is already present
+    @Override
+    public boolean add(T record) {
+        if (record == null) {
+            throw new NullPointerException("record");
+        }
+        if (sequences.containsKey(record)) {
+            return false;
+        }
+        long sequence = nextSequence++;
+        sequences.put(record, sequence);
+        inInsertionOrder.put(sequence, record);
+        for (Index<?> index : indexes) {
+            index.insert(record, sequence);
+        }
+        return true;
+    }
+
+    // Removes the record (by identity) from every index
+    @Override
+    public boolean remove(Object o) {
+        Long sequence = sequences.remove(o);
+        if (sequence == null) {
+            return false;
+        }
+        @SuppressWarnings("unchecked")
+        T record = (T) o;
+        inInsertionOrder.remove(sequence);
+        for (Index<?> index : indexes) {
+            index.delete(record, sequence);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return sequences.containsKey(o);
+    }
+
+    @Override
+    public int size() {
+        return sequences.size();
+    }
+
+    @Override
+    public void clear() {
+        sequences.clear();
+        inInsertionOrder.clear();
+        for (Index<?> index : indexes) {
+            index.entries.clear();
+        }
+    }
+
+    // Records in insertion order
+    @Override
+    public Iterator<T> iterator() {
+        Iterator<T> it = inInsertionOrder.values().iterator();
+        return new Iterator<T>() {
+            private T last;
+
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            public T next() {
+                last = it.next();
+                return last;
+            }
+
+            @Override
+            public void remove() {
+                if (last == null) {
+                    throw new IllegalStateException();
+                }
+                // Let the underlying iterator remove from the insertion order map,
+                // then remove the record from the rest of the structures
+                it.remove();
+                Long sequence = sequences.remove(last);
+                for (Index<?> index : indexes) {
+                    index.delete(last, sequence);
+                }
+                last = null;
+            }
+        };
+    }
+
+    private static <K, T> Iterable<T> records(Iterable<Entry<K, T>> entries) {
+        return () -> {
+            Iterator<Entry<K, T>> it = entries.iterator();
+            return new Iterator<T>() {
+                @Override
+                public boolean hasNext() {
+                    return it.hasNext();
+                }
+
+                @Override
+                public T next() {
+                    return it.next().record;
+                }
+            };
+        };
+    }
+
+    // The ReverseOneField example with live indexes instead of re-sorting, then a timing comparison
+    public static void main(String[] args) {
+        IndexedCollection<Student> students = new IndexedCollection<>();
+        IndexedCollection<Student>.Index<Integer> byRoll = students.addIndex(s -> s.rollno, Comparator.naturalOrder());
+        IndexedCollection<Student>.Index<String> byNameReversed = students.addIndex(s -> s.name, Comparator.reverseOrder());
+
+        students.add(new Student(111, "Mayank", "london"));
+        students.add(new Student(131, "Anshul", "nyc"));
+        students.add(new Student(121, "Solanki", "jaipur"));
+        students.add(new Student(101, "Aggarwal", "Hongkong"));
+
+        System.out.println("Unsorted:");
+        for (Student student : students)
+            System.out.println(student);
+
+        System.out.println("\nSorted by rollno:");
+        for (Student student : byRoll)
+            System.out.println(student);
+
+        System.out.println("\nSorted by name (reverse order):");
+        for (Student student : byNameReversed)
+            System.out.println(student);
+
+        System.out.println("\nRollno 105 to 125: " + byRoll.range(105, 125));
+        System.out.println("Names starting with S: " + students.startsWith(byNameReversed, "S"));
+
+        // NewStudent records, with the StudentSortingComparator order as one of the indexes
+        IndexedCollection<NewStudent> roster = new IndexedCollection<>();
+        IndexedCollection<NewStudent>.Index<NewStudent> byNameThenAge = roster.addIndex(new NewStudent.StudentSortingComparator());
+        IndexedCollection<NewStudent>.Index<Integer> byAge = roster.addIndex(s -> s.Age, Comparator.naturalOrder());
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        String[] firstNames = { "Ajay", "Sneha", "Simran", "Mayank", "Anshul", "Solanki", "Aggarwal" };
+        Random random = new Random(42);
+        List<NewStudent> list = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            NewStudent student = new NewStudent(firstNames[random.nextInt(firstNames.length)] + random.nextInt(1000),
+                18 + random.nextInt(50));
+            roster.add(student);
+            list.add(student);
+        }
+
+        // Answering "age 20 to 21" after each of 100 inserts: full re-sort vs. index range
+        long start = System.nanoTime();
+        int sortedMatches = 0;
+        for (int i = 0; i < 100; i++) {
+            list.add(new NewStudent("Late" + i, 20));
+            Collections.sort(list, Comparator.comparingInt(s -> s.Age));
+            for (NewStudent student : list) {
+                if (student.Age >= 20 && student.Age <= 21) {
+                    sortedMatches++;
+                }
+            }
+        }
+        long sortMillis = (System.nanoTime() - start) / 1_000_000;
+
+        start = System.nanoTime();
+        int indexMatches = 0;
+        for (int i = 0; i < 100; i++) {
+            roster.add(new NewStudent("Late" + i, 20));
+            indexMatches += byAge.range(20, 21).size();
+        }
+        long indexMillis = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.println("\n" + n + " students, 100 inserts each followed by an age range query:");
+        System.out.println("re-sort + scan: " + sortMillis + " ms, index range: " + indexMillis + " ms, same matches: "
+            + (sortedMatches == indexMatches));
+        System.out.println("First by name (reverse) then age: " + byNameThenAge.first());
+    }
+}
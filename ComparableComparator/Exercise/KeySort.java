@@ -0,0 +1,273 @@
+package ComparableComparator.Exercise;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Sorts large lists of records by (name, int field) using extracted keys and radix sort.
+ *
+ * Collections.sort(list, comparator) calls the comparator about n * log(n) times, and each
+ * call follows two references and compares two Strings character by character. KeySort
+ * instead reads every record once, extracts the name and the int key (rollno or age), and
+ * sorts an array of record indices:
+ * - an LSD radix sort on the int key (four byte-wide counting passes), then
+ * - a stable MSD radix sort on the name, packing 4 UTF-16 chars at a time into a long so that
+ *   the chunks order exactly like String.compareTo. Only runs whose chunks tie and whose
+ *   names actually differ go on to the next 4 chars.
+ * Counting passes whose byte is the same for every record are skipped, and the records are
+ * only moved once, when they are permuted into place at the end.
+ *
+ * The result is the same order as a stable Collections.sort with the matching comparator,
+ * e.g. sortByNameThenInt(list, s -> s.Name, true, s -> s.Age, false) orders like
+ * NewStudent.StudentSortingComparator. Names must not be null.
+ */
+public class KeySort {
+
+    // Number of UTF-16 chars packed into one 64-bit chunk of a name
+    private static final int PREFIX_CHARS = 4;
+
+    // Runs shorter than this are finished with a full comparison instead of more radix passes
+    private static final int SMALL_RUN = 32;
+
+    private KeySort() {
+    }
+
+    // Compares two record indices, so runs can be sorted without boxing them
+    private interface IndexComparator {
+        int compare(int a, int b);
+    }
+
+    // Same order as Sortbyroll (ascending) or its reverse
+    public static <T> void sortByInt(List<T> list, ToIntFunction<? super T> key, boolean descending) {
+        sort(list, null, false, key, descending);
+    }
+
+    // Same order as Sortbyname (descending = true) or ascending by name
+    public static <T> void sortByName(List<T> list, Function<? super T, String> name, boolean descending) {
+        sort(list, name, descending, null, false);
+    }
+
+    // Sorts by name, then by the int key for equal names
+    public static <T> void sortByNameThenInt(List<T> list, Function<? super T, String> name, boolean nameDescending,
+                                             ToIntFunction<? super T> key, boolean keyDescending) {
+        sort(list, name, nameDescending, key, keyDescending);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void sort(List<T> list, Function<? super T, String> name, boolean nameDescending,
+                                 ToIntFunction<? super T> key, boolean keyDescending) {
+        int n = list.size();
+        if (n < 2) {
+            return;
+        }
+        Object[] records = list.toArray();
+
+        // 1. Extract the keys once per record
+        String[] names = name == null ? null : new String[n];
+        int[] ints = key == null ? null : new int[n];
+        for (int i = 0; i < n; i++) {
+            T record = (T) records[i];
+            if (name != null) {
+                names[i] = name.apply(record);
+            }
+            if (key != null) {
+                int value = key.applyAsInt(record);
+                // Flip the sign bit so that unsigned byte order matches signed int order
+                ints[i] = (keyDescending ? ~value : value) ^ Integer.MIN_VALUE;
+            }
+        }
+
+        // 2. Stable LSD radix sort of the record indices on the int key.
+        //    The keys travel with the indices, so every pass reads memory sequentially.
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        long[] keys = new long[n];
+        long[] keyBuffer = new long[n];
+        int[] orderBuffer = new int[n];
+        if (ints != null) {
+            for (int i = 0; i < n; i++) {
+                keys[i] = ints[i] & 0xFFFFFFFFL;
+            }
+            radixSort(keys, order, keyBuffer, orderBuffer, 0, n, 4);
+        }
+
+        // 3. Stable MSD sort on the name, one 4-char chunk at a time
+        if (names != null) {
+            IndexComparator full = fullComparator(names, nameDescending, ints);
+            sortByNameChunks(order, keys, keyBuffer, orderBuffer, 0, n, 0, names, nameDescending, full);
+        }
+
+        // 4. Permute the records into their sorted positions
+        ListIterator<T> it = list.listIterator();
+        for (int i = 0; i < n; i++) {
+            it.next();
+            it.set((T) records[order[i]]);
+        }
+    }
+
+    // Sorts order[from, to) by the name chunk at 'depth', then each run of equal chunks by the next one
+    private static void sortByNameChunks(int[] order, long[] keys, long[] keyBuffer, int[] orderBuffer,
+                                         int from, int to, int depth, String[] names, boolean descending,
+                                         IndexComparator full) {
+        // One pass over the names: extract the chunks and check whether any name differs
+        int offset = depth * PREFIX_CHARS;
+        String first = names[order[from]];
+        boolean allEqual = true;
+        int maxLength = 0;
+        for (int i = from; i < to; i++) {
+            String current = names[order[i]];
+            allEqual = allEqual && current.equals(first);
+            maxLength = Math.max(maxLength, current.length());
+            long chunk = chunk(current, offset);
+            keys[i] = descending ? ~chunk : chunk;
+        }
+        if (allEqual) {
+            return; // already ordered by the int key, or kept in their original order
+        }
+        if (to - from < SMALL_RUN || offset >= maxLength) {
+            // Small runs are cheaper to compare directly; past the end of every name,
+            // only trailing '\0' chars can differ, so the full comparison decides too
+            sortRun(order, orderBuffer, from, to, full);
+            return;
+        }
+        radixSort(keys, order, keyBuffer, orderBuffer, from, to, 8);
+
+        int runStart = from;
+        for (int i = from + 1; i <= to; i++) {
+            if (i == to || keys[i] != keys[runStart]) {
+                if (i - runStart > 1) {
+                    sortByNameChunks(order, keys, keyBuffer, orderBuffer, runStart, i, depth + 1,
+                        names, descending, full);
+                }
+                runStart = i;
+            }
+        }
+    }
+
+    // Stable LSD radix sort of keys[lo, hi) as unsigned numbers of 'bytes' bytes, moving order[] along.
+    // All byte histograms are built in one scan, and bytes that are the same for every key are skipped.
+    private static void radixSort(long[] keys, int[] order, long[] keyBuffer, int[] orderBuffer,
+                                  int lo, int hi, int bytes) {
+        int[][] counts = new int[bytes][257];
+        for (int i = lo; i < hi; i++) {
+            long key = keys[i];
+            for (int b = 0; b < bytes; b++) {
+                counts[b][(int) (key >>> (8 * b)) & 0xFF]++;
+            }
+        }
+        for (int b = 0; b < bytes; b++) {
+            int[] count = counts[b];
+            boolean trivial = false;
+            for (int d = 0; d < 256 && !trivial; d++) {
+                trivial = count[d] == hi - lo;
+            }
+            if (trivial) {
+                continue;
+            }
+            // Turn the histogram into start positions
+            int position = lo;
+            for (int d = 0; d < 256; d++) {
+                int c = count[d];
+                count[d] = position;
+                position += c;
+            }
+            int shift = 8 * b;
+            for (int i = lo; i < hi; i++) {
+                int target = count[(int) (keys[i] >>> shift) & 0xFF]++;
+                keyBuffer[target] = keys[i];
+                orderBuffer[target] = order[i];
+            }
+            System.arraycopy(keyBuffer, lo, keys, lo, hi - lo);
+            System.arraycopy(orderBuffer, lo, order, lo, hi - lo);
+        }
+    }
+
+    // Packs 4 chars starting at 'offset', big-endian and padded with 0, so that unsigned
+    // comparison of chunks follows String.compareTo for those chars
+    private static long chunk(String name, int offset) {
+        long chunk = 0;
+        for (int i = offset; i < offset + PREFIX_CHARS; i++) {
+            chunk = (chunk << 16) | (i < name.length() ? name.charAt(i) : 0);
+        }
+        return chunk;
+    }
+
+    // Stable merge sort of order[from, to) with the full comparison, using buffer[from, to) as
+    // scratch space; short runs are finished with an insertion sort
+    private static void sortRun(int[] order, int[] buffer, int from, int to, IndexComparator full) {
+        if (to - from < SMALL_RUN) {
+            for (int i = from + 1; i < to; i++) {
+                int current = order[i];
+                int j = i - 1;
+                while (j >= from && full.compare(order[j], current) > 0) {
+                    order[j + 1] = order[j];
+                    j--;
+                }
+                order[j + 1] = current;
+            }
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        sortRun(order, buffer, from, mid, full);
+        sortRun(order, buffer, mid, to, full);
+        if (full.compare(order[mid - 1], order[mid]) <= 0) {
+            return; // already in order
+        }
+        // Merge the left half, copied out, with the right half still in place
+        System.arraycopy(order, from, buffer, from, mid - from);
+        int i = from;
+        int j = mid;
+        int k = from;
+        while (i < mid && j < to) {
+            // Ties take the left element first, which keeps the sort stable
+            order[k++] = full.compare(order[j], buffer[i]) < 0 ? order[j++] : buffer[i++];
+        }
+        while (i < mid) {
+            order[k++] = buffer[i++];
+        }
+    }
+
+    private static IndexComparator fullComparator(String[] names, boolean nameDescending, int[] ints) {
+        return (a, b) -> {
+            int c = nameDescending ? names[b].compareTo(names[a]) : names[a].compareTo(names[b]);
+            if (c != 0 || ints == null) {
+                return c;
+            }
+            return Integer.compareUnsigned(ints[a], ints[b]);
+        };
+    }
+
+    // Compares KeySort with Collections.sort on a few million generated students
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        String[] firstNames = { "Ajay", "Sneha", "Simran", "Mayank", "Anshul", "Solanki", "Aggarwal" };
+        Random random = new Random(42);
+        List<NewStudent> students = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            students.add(new NewStudent(firstNames[random.nextInt(firstNames.length)] + random.nextInt(1000),
+                18 + random.nextInt(50)));
+        }
+
+        List<NewStudent> expected = new ArrayList<>(students);
+        long start = System.nanoTime();
+        Collections.sort(expected, new NewStudent.StudentSortingComparator());
+        long comparatorMillis = (System.nanoTime() - start) / 1_000_000;
+
+        List<NewStudent> actual = new ArrayList<>(students);
+        start = System.nanoTime();
+        sortByNameThenInt(actual, s -> s.Name, true, s -> s.Age, false);
+        long keySortMillis = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.println("Sorting " + n + " students by name (reverse) then age:");
+        System.out.println("Collections.sort + StudentSortingComparator: " + comparatorMillis + " ms");
+        System.out.println("KeySort.sortByNameThenInt:                   " + keySortMillis + " ms");
+        System.out.println("Same order: " + expected.equals(actual));
+    }
+}
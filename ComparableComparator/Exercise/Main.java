@@ -9,59 +9,12 @@ package ComparableComparator.Exercise;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 
 // or
 // import java.util.*;
 
-// Class representing a Student
-class NewStudent {
-
-    // Attributes of student
-    String Name;
-    int Age;
-
-    // Parameterized constructor
-    public NewStudent(String Name, Integer Age) {
-        this.Name = Name;
-        this.Age = Age;
-    }
-
-    // Getter and setter methods
-    public String getName() { return Name; }
-
-    public void setName(String Name) { this.Name = Name; }
-
-    public Integer getAge() { return Age; }
-
-    public void setAge(Integer Age) { this.Age = Age; }
-
-    // Method to return student details as a string
-    @Override 
-    public String toString() {
-        return "Student{" + "Name=" + Name + ", Age=" + Age + '}';
-    }
-
-    // Comparator to sort by Name in reverse order and Age in ascending order
-    static class StudentSortingComparator implements Comparator<NewStudent> {
-
-        // Method to compare students
-        @Override
-        public int compare(NewStudent student1, NewStudent student2) {
-            // 1st level: Compare by Name in reverse order
-            int NameCompare = student2.getName().compareTo(student1.getName());
-
-            // 2nd level: Compare by Age if names are equal
-            if (NameCompare == 0) {
-                return Integer.compare(student1.getAge(), student2.getAge());
-            }
-            return NameCompare;
-        }
-    }
-}
-
 // Main class containing the main method
 public class Main {
     public static void main(String[] args) {
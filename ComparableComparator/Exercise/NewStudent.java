@@ -0,0 +1,50 @@
+package ComparableComparator.Exercise;
+
+import java.util.Comparator;
+
+// Class representing a Student
+class NewStudent {
+
+    // Attributes of student
+    String Name;
+    int Age;
+
+    // Parameterized constructor
+    public NewStudent(String Name, Integer Age) {
+        this.Name = Name;
+        this.Age = Age;
+    }
+
+    // Getter and setter methods
+    public String getName() { return Name; }
+
+    public void setName(String Name) { this.Name = Name; }
+
+    public Integer getAge() { return Age; }
+
+    public void setAge(Integer Age) { this.Age = Age; }
+
+    // Method to return student details as a string
+    @Override 
+    public String toString() {
+        return "Student{" + "Name=" + Name + ", Age=" + Age + '}';
+    }
+
+    // Comparator to sort by Name in reverse order and Age in ascending order
+    static class StudentSortingComparator implements Comparator<NewStudent> {
+
+        // Method to compare students
+        @Override
+        public int compare(NewStudent student1, NewStudent student2) {
+            // 1st level: Compare by Name in reverse order
+            int NameCompare = student2.Name.compareTo(student1.Name);
+
+            // 2nd level: Compare by Age if names are equal
+            // (read the int field directly; getAge() would box it into an Integer)
+            if (NameCompare == 0) {
+                return Integer.compare(student1.Age, student2.Age);
+            }
+            return NameCompare;
+        }
+    }
+}
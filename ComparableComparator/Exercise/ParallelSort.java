@@ -0,0 +1,240 @@
+package ComparableComparator.Exercise;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A stable, parallel merge sort on the common ForkJoinPool.
+ *
+ * Collections.sort runs on one thread, even though comparators such as Sortbyroll, Sortbyname
+ * and StudentSortingComparator are pure functions that could run on every core. This sort:
+ * - splits the input in halves until a piece is at most 'threshold' elements long, and sorts
+ *   those pieces with Arrays.sort (a stable TimSort), all in parallel;
+ * - merges the sorted halves with a parallel merge: the middle element of the larger half is
+ *   placed directly, its position in the other half is found by binary search, and the
+ *   pieces before and after it are merged at the same time.
+ *
+ * Ties always go to the element from the left half, so the result is exactly the same order
+ * as Collections.sort with the same comparator, including for multi-field orderings.
+ * For inputs larger than the heap, see ExternalSort, which sorts its runs with this class.
+ */
+public class ParallelSort {
+
+    // Pieces at most this long are sorted or merged sequentially
+    public static final int DEFAULT_THRESHOLD = 8192;
+
+    private ParallelSort() {
+    }
+
+    public static <T> void sort(List<T> list, Comparator<? super T> comparator) {
+        sort(list, comparator, DEFAULT_THRESHOLD);
+    }
+
+    // Sorts the list in place, like Collections.sort(list, comparator)
+    @SuppressWarnings("unchecked")
+    public static <T> void sort(List<T> list, Comparator<? super T> comparator, int threshold) {
+        Object[] elements = list.toArray();
+        sort((T[]) elements, comparator, threshold);
+        ListIterator<T> it = list.listIterator();
+        for (Object element : elements) {
+            it.next();
+            it.set((T) element);
+        }
+    }
+
+    public static <T> void sort(T[] array, Comparator<? super T> comparator) {
+        sort(array, comparator, DEFAULT_THRESHOLD);
+    }
+
+    public static <T> void sort(T[] array, Comparator<? super T> comparator, int threshold) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("threshold must be positive: " + threshold);
+        }
+        if (array.length <= threshold) {
+            Arrays.sort(array, comparator);
+            return;
+        }
+        // Both arrays start with the input, so each task can read it from either one
+        T[] scratch = array.clone();
+        ForkJoinPool.commonPool().invoke(new SortTask<>(scratch, array, 0, array.length, comparator, threshold));
+    }
+
+    // Sorts [lo, hi) into 'dst'. The input for that range is present in both 'src' and 'dst'.
+    // Tasks only live inside one sort call and are never serialized.
+    @SuppressWarnings("serial")
+    private static final class SortTask<T> extends RecursiveAction {
+        private final T[] src;
+        private final T[] dst;
+        private final int lo;
+        private final int hi;
+        private final Comparator<? super T> comparator;
+        private final int threshold;
+
+        SortTask(T[] src, T[] dst, int lo, int hi, Comparator<? super T> comparator, int threshold) {
+            this.src = src;
+            this.dst = dst;
+            this.lo = lo;
+            this.hi = hi;
+            this.comparator = comparator;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= threshold) {
+                Arrays.sort(dst, lo, hi, comparator);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            // Sort both halves into 'src', then merge them back into 'dst'
+            invokeAll(new SortTask<>(dst, src, lo, mid, comparator, threshold),
+                      new SortTask<>(dst, src, mid, hi, comparator, threshold));
+            new MergeTask<>(src, lo, mid, mid, hi, dst, lo, comparator, threshold).compute();
+        }
+    }
+
+    // Merges the sorted runs src[leftLo, leftHi) and src[rightLo, rightHi) into dst starting at 'out'
+    // Like SortTask, never serialized.
+    @SuppressWarnings("serial")
+    private static final class MergeTask<T> extends RecursiveAction {
+        private final T[] src;
+        private final int leftLo, leftHi, rightLo, rightHi;
+        private final T[] dst;
+        private final int out;
+        private final Comparator<? super T> comparator;
+        private final int threshold;
+
+        MergeTask(T[] src, int leftLo, int leftHi, int rightLo, int rightHi, T[] dst, int out,
+                  Comparator<? super T> comparator, int threshold) {
+            this.src = src;
+            this.leftLo = leftLo;
+            this.leftHi = leftHi;
+            this.rightLo = rightLo;
+            this.rightHi = rightHi;
+            this.dst = dst;
+            this.out = out;
+            this.comparator = comparator;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            int leftSize = leftHi - leftLo;
+            int rightSize = rightHi - rightLo;
+            if (leftSize + rightSize <= threshold || leftSize == 0 || rightSize == 0) {
+                mergeSequentially();
+                return;
+            }
+            // Split around a pivot from the larger run; the pivot goes straight to its final slot
+            int leftSplit;
+            int rightSplit;
+            int leftRest;
+            int rightRest;
+            T pivot;
+            if (leftSize >= rightSize) {
+                // Right elements strictly smaller than a left pivot go before it
+                leftSplit = (leftLo + leftHi) >>> 1;
+                pivot = src[leftSplit];
+                rightSplit = lowerBound(src, rightLo, rightHi, pivot, comparator);
+                leftRest = leftSplit + 1;
+                rightRest = rightSplit;
+            } else {
+                // Left elements smaller than or equal to a right pivot go before it (stability)
+                rightSplit = (rightLo + rightHi) >>> 1;
+                pivot = src[rightSplit];
+                leftSplit = upperBound(src, leftLo, leftHi, pivot, comparator);
+                leftRest = leftSplit;
+                rightRest = rightSplit + 1;
+            }
+            int pivotOut = out + (leftSplit - leftLo) + (rightSplit - rightLo);
+            dst[pivotOut] = pivot;
+            invokeAll(new MergeTask<>(src, leftLo, leftSplit, rightLo, rightSplit, dst, out, comparator, threshold),
+                      new MergeTask<>(src, leftRest, leftHi, rightRest, rightHi, dst, pivotOut + 1, comparator, threshold));
+        }
+
+        private void mergeSequentially() {
+            int i = leftLo;
+            int j = rightLo;
+            int k = out;
+            while (i < leftHi && j < rightHi) {
+                // '<=' keeps equal elements from the left run first
+                if (comparator.compare(src[i], src[j]) <= 0) {
+                    dst[k++] = src[i++];
+                } else {
+                    dst[k++] = src[j++];
+                }
+            }
+            System.arraycopy(src, i, dst, k, leftHi - i);
+            System.arraycopy(src, j, dst, k + (leftHi - i), rightHi - j);
+        }
+    }
+
+    // First index in [lo, hi) whose element is not less than the key
+    private static <T> int lowerBound(T[] a, int lo, int hi, T key, Comparator<? super T> comparator) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (comparator.compare(a[mid], key) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    // First index in [lo, hi) whose element is greater than the key
+    private static <T> int upperBound(T[] a, int lo, int hi, T key, Comparator<? super T> comparator) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (comparator.compare(a[mid], key) <= 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    // Compares ParallelSort with Collections.sort for the orderings used in the exercises
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        String[] firstNames = { "Ajay", "Sneha", "Simran", "Mayank", "Anshul", "Solanki", "Aggarwal" };
+        Random random = new Random(42);
+
+        List<NewStudent> newStudents = new ArrayList<>(n);
+        List<Student> students = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            String name = firstNames[random.nextInt(firstNames.length)] + random.nextInt(1000);
+            newStudents.add(new NewStudent(name, 18 + random.nextInt(50)));
+            students.add(new Student(random.nextInt(n), name, "address " + i));
+        }
+
+        System.out.println("Sorting " + n + " records on " + ForkJoinPool.commonPool().getParallelism()
+            + " worker threads:");
+        compare("StudentSortingComparator", newStudents, new NewStudent.StudentSortingComparator());
+        compare("Sortbyroll", students, new Sortbyroll());
+        compare("Sortbyname", students, new Sortbyname());
+    }
+
+    private static <T> void compare(String name, List<T> input, Comparator<? super T> comparator) {
+        List<T> expected = new ArrayList<>(input);
+        long start = System.nanoTime();
+        Collections.sort(expected, comparator);
+        long sequentialMillis = (System.nanoTime() - start) / 1_000_000;
+
+        List<T> actual = new ArrayList<>(input);
+        start = System.nanoTime();
+        sort(actual, comparator);
+        long parallelMillis = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.printf("%-26s Collections.sort %5d ms, ParallelSort %5d ms, same order: %b%n",
+            name, sequentialMillis, parallelMillis, expected.equals(actual));
+    }
+}
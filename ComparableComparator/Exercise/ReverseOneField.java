@@ -9,68 +9,10 @@ package ComparableComparator.Exercise;
 // Importing required classes
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
 
 // or
 // import java.util.*;
  
-// Class 1
-// A class to represent a Student
-class Student {
- 
-    // Attributes of a student
-    int rollno;
-    String name, address;
- 
-    // Constructor
-    public Student(int rollno, String name, String address)
-    {
- 
-        // This keyword refers to current instance itself
-        this.rollno = rollno;
-        this.name = name;
-        this.address = address;
-    }
- 
-    // Method of Student class
-    // To print student details in main()
-    public String toString()
-    {
- 
-        // Returning attributes of Student
-        return this.rollno + " " + this.name + " "
-            + this.address;
-    }
-}
- 
-// Class 2
-// Helper class implementing Comparator interface for sorting by roll number
-class Sortbyroll implements Comparator<Student> {
- 
-    // Method
-    // Sorting in ascending order of roll number
-    public int compare(Student a, Student b)
-    {
- 
-        return a.rollno - b.rollno;
-    }
-}
- 
-// Class 3
-// Helper class implementing Comparator interface for sorting by name in reverse order
-class Sortbyname implements Comparator<Student> {
- 
-    // Method
-    // Sorting in descending order of name (reverse order)
-    public int compare(Student a, Student b)
-    {
- 
-        // Reversing the order of comparison
-        return b.name.compareTo(a.name);  // Changed to reverse order
-    }
-}
- 
-// Class 4
 // Main class
 class ReverseOneField {
  
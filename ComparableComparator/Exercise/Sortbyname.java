@@ -0,0 +1,16 @@
+package ComparableComparator.Exercise;
+
+import java.util.Comparator;
+
+// Helper class implementing Comparator interface for sorting by name in reverse order
+class Sortbyname implements Comparator<Student> {
+ 
+    // Method
+    // Sorting in descending order of name (reverse order)
+    public int compare(Student a, Student b)
+    {
+ 
+        // Reversing the order of comparison
+        return b.name.compareTo(a.name);  // Changed to reverse order
+    }
+}
@@ -0,0 +1,16 @@
+package ComparableComparator.Exercise;
+
+import java.util.Comparator;
+
+// Helper class implementing Comparator interface for sorting by roll number
+class Sortbyroll implements Comparator<Student> {
+ 
+    // Method
+    // Sorting in ascending order of roll number
+    public int compare(Student a, Student b)
+    {
+ 
+        // Integer.compare instead of a.rollno - b.rollno, which can overflow
+        return Integer.compare(a.rollno, b.rollno);
+    }
+}
@@ -0,0 +1,143 @@
+package ComparableComparator.Exercise;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A dictionary-encoded column of Strings, used by StudentTable.
+ *
+ * Every row stores an int code. Each distinct value is stored once, as UTF-8 bytes packed
+ * into a single byte array with an offsets array, so a column of a million rows with a few
+ * thousand distinct names costs about 4 bytes per row instead of one String object per row.
+ * Code -1 means null.
+ *
+ * Values are looked up through an open-addressing table of int codes, keyed by a hash of the
+ * stored bytes, rather than a HashMap<String, Integer>: no String or Integer is kept alive per
+ * distinct value, so the dictionary costs its UTF-8 bytes plus about 16 bytes per distinct
+ * value, all of which dictionaryBytes() counts.
+ */
+class StringColumn {
+
+    // Open-addressing table: code + 1 of the value in each slot, 0 when empty; at most half full
+    private int[] table = new int[32];
+    private int[] hashes = new int[16]; // hashes[code], kept so that growing needs no rehashing of bytes
+    private byte[] bytes = new byte[256];
+    private int[] offsets = new int[17]; // offsets[code] .. offsets[code + 1]
+    private int distinct;
+    private int byteCount;
+
+    // Sort rank of every code in String.compareTo order; rebuilt when new values appear
+    private int[] ranks;
+
+    // Returns the code of a value, adding it to the dictionary if needed
+    int encode(String value) {
+        if (value == null) {
+            return -1;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        int hash = hash(utf8);
+        int slot = find(utf8, hash);
+        if (table[slot] != 0) {
+            return table[slot] - 1;
+        }
+        if (byteCount + utf8.length > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, byteCount + utf8.length));
+        }
+        if (distinct + 2 > offsets.length) {
+            offsets = Arrays.copyOf(offsets, offsets.length * 2);
+        }
+        if (distinct == hashes.length) {
+            hashes = Arrays.copyOf(hashes, hashes.length * 2);
+        }
+        System.arraycopy(utf8, 0, bytes, byteCount, utf8.length);
+        byteCount += utf8.length;
+        offsets[distinct + 1] = byteCount;
+        hashes[distinct] = hash;
+        table[slot] = distinct + 1;
+        ranks = null;
+        int code = distinct++;
+        if (distinct * 2 > table.length) {
+            growTable();
+        }
+        return code;
+    }
+
+    // Returns the code of a value, or -2 if the value was never added
+    int lookup(String value) {
+        if (value == null) {
+            return -1;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        int slot = find(utf8, hash(utf8));
+        return table[slot] == 0 ? -2 : table[slot] - 1;
+    }
+
+    // The slot holding the value, or the empty slot where it would go
+    private int find(byte[] utf8, int hash) {
+        int mask = table.length - 1;
+        int slot = hash & mask;
+        while (table[slot] != 0) {
+            int code = table[slot] - 1;
+            if (hashes[code] == hash && Arrays.equals(bytes, offsets[code], offsets[code + 1], utf8, 0, utf8.length)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void growTable() {
+        int[] grown = new int[table.length * 2];
+        int mask = grown.length - 1;
+        for (int code = 0; code < distinct; code++) {
+            int slot = hashes[code] & mask;
+            while (grown[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            grown[slot] = code + 1;
+        }
+        table = grown;
+    }
+
+    // Arrays.hashCode with the high bits folded in, since the table uses the low bits
+    private static int hash(byte[] utf8) {
+        int h = Arrays.hashCode(utf8);
+        return h ^ (h >>> 16);
+    }
+
+    String decode(int code) {
+        if (code < 0) {
+            return null;
+        }
+        return new String(bytes, offsets[code], offsets[code + 1] - offsets[code], StandardCharsets.UTF_8);
+    }
+
+    int distinctCount() {
+        return distinct;
+    }
+
+    // Rank of a code in ascending String order (nulls first); equal ranks mean equal values
+    int rank(int code) {
+        if (ranks == null) {
+            String[] values = new String[distinct];
+            Integer[] order = new Integer[distinct];
+            for (int c = 0; c < distinct; c++) {
+                values[c] = decode(c);
+                order[c] = c;
+            }
+            // Sorting the d distinct values once replaces n * log(n) String comparisons
+            Arrays.sort(order, (a, b) -> values[a].compareTo(values[b]));
+            ranks = new int[distinct];
+            for (int r = 0; r < distinct; r++) {
+                ranks[order[r]] = r + 1;
+            }
+        }
+        return code < 0 ? 0 : ranks[code];
+    }
+
+    // Bytes used by the dictionary itself, including its lookup table (not counting the per-row codes)
+    long dictionaryBytes() {
+        return bytes.length + 4L * offsets.length + 4L * table.length + 4L * hashes.length
+            + (ranks == null ? 0 : 4L * ranks.length);
+    }
+}
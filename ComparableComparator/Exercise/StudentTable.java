@@ -0,0 +1,307 @@
+package ComparableComparator.Exercise;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntConsumer;
+
+/**
+ * Student records stored as columns (struct of arrays) instead of one object per record.
+ *
+ * An ArrayList<Student> holds a reference per record, and every Student has an object header
+ * plus references to separate String objects for name and address. Here a table has:
+ * - an int column for the number (rollno for Student, age for NewStudent),
+ * - dictionary-encoded name and address columns (see StringColumn): one int code per row,
+ *   with each distinct string stored once as UTF-8.
+ * So a row costs 12 bytes plus its share of the dictionaries.
+ *
+ * Rows are addressed by index. Sorting reorders the columns with a stable LSD radix sort on
+ * int keys: rollno/age directly, and names through their dictionary rank, so no String is
+ * compared per row. Filters return the matching row indices, and the print loop decodes only
+ * the rows it prints.
+ */
+public class StudentTable {
+
+    private int[] numbers;
+    private int[] nameCodes;
+    private int[] addressCodes;
+    private final StringColumn names = new StringColumn();
+    private final StringColumn addresses = new StringColumn();
+    private int size;
+
+    public StudentTable() {
+        this(16);
+    }
+
+    public StudentTable(int initialCapacity) {
+        int capacity = Math.max(1, initialCapacity);
+        numbers = new int[capacity];
+        nameCodes = new int[capacity];
+        addressCodes = new int[capacity];
+    }
+
+    // Copies a list of Student records into a new table
+    static StudentTable fromStudents(List<Student> students) {
+        StudentTable table = new StudentTable(students.size());
+        for (Student student : students) {
+            table.add(student.rollno, student.name, student.address);
+        }
+        return table;
+    }
+
+    // Copies a list of NewStudent records into a new table (age as the number, no address)
+    static StudentTable fromNewStudents(List<NewStudent> students) {
+        StudentTable table = new StudentTable(students.size());
+        for (NewStudent student : students) {
+            table.add(student.Age, student.Name, null);
+        }
+        return table;
+    }
+
+    // Appends a row and returns its index
+    public int add(int number, String name, String address) {
+        if (size == numbers.length) {
+            int capacity = size + (size >> 1) + 1;
+            numbers = Arrays.copyOf(numbers, capacity);
+            nameCodes = Arrays.copyOf(nameCodes, capacity);
+            addressCodes = Arrays.copyOf(addressCodes, capacity);
+        }
+        numbers[size] = number;
+        nameCodes[size] = names.encode(name);
+        addressCodes[size] = addresses.encode(address);
+        return size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getNumber(int row) {
+        checkRow(row);
+        return numbers[row];
+    }
+
+    public String getName(int row) {
+        checkRow(row);
+        return names.decode(nameCodes[row]);
+    }
+
+    public String getAddress(int row) {
+        checkRow(row);
+        return addresses.decode(addressCodes[row]);
+    }
+
+    // Same format as Student.toString()
+    public String toString(int row) {
+        return getNumber(row) + " " + getName(row) + " " + getAddress(row);
+    }
+
+    Student toStudent(int row) {
+        return new Student(getNumber(row), getName(row), getAddress(row));
+    }
+
+    // Visits every row index in order
+    public void forEachRow(IntConsumer action) {
+        for (int row = 0; row < size; row++) {
+            action.accept(row);
+        }
+    }
+
+    // Prints every row, like the print loops in ReverseOneField.main
+    public void print() {
+        StringBuilder sb = new StringBuilder();
+        for (int row = 0; row < size; row++) {
+            sb.append(numbers[row]).append(' ')
+              .append(names.decode(nameCodes[row])).append(' ')
+              .append(addresses.decode(addressCodes[row])).append('\n');
+        }
+        System.out.print(sb);
+    }
+
+    // Same order as Sortbyroll (ascending) or its reverse
+    public void sortByNumber(boolean descending) {
+        int[] order = identity();
+        radixSort(order, numberKeys(descending));
+        permute(order);
+    }
+
+    // Same order as Sortbyname (descending = true) or ascending by name
+    public void sortByName(boolean descending) {
+        int[] order = identity();
+        radixSort(order, nameKeys(descending));
+        permute(order);
+    }
+
+    // Sorts by name, then by number for equal names, e.g. like StudentSortingComparator
+    public void sortByNameThenNumber(boolean nameDescending, boolean numberDescending) {
+        int[] order = identity();
+        // LSD: the least significant key first, then a stable pass on the most significant one
+        radixSort(order, numberKeys(numberDescending));
+        radixSort(order, nameKeys(nameDescending));
+        permute(order);
+    }
+
+    // Rows whose number is in [from, to], in table order
+    public int[] filterNumberBetween(int from, int to) {
+        int[] rows = new int[size];
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            if (numbers[row] >= from && numbers[row] <= to) {
+                rows[count++] = row;
+            }
+        }
+        return Arrays.copyOf(rows, count);
+    }
+
+    // Rows whose name starts with the prefix; each distinct name is tested only once
+    public int[] filterNameStartsWith(String prefix) {
+        boolean[] matches = new boolean[names.distinctCount()];
+        for (int code = 0; code < matches.length; code++) {
+            matches[code] = names.decode(code).startsWith(prefix);
+        }
+        int[] rows = new int[size];
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            int code = nameCodes[row];
+            if (code >= 0 && matches[code]) {
+                rows[count++] = row;
+            }
+        }
+        return Arrays.copyOf(rows, count);
+    }
+
+    // Copies the given rows into a new table
+    public StudentTable select(int[] rows) {
+        StudentTable table = new StudentTable(rows.length);
+        for (int row : rows) {
+            table.add(getNumber(row), getName(row), getAddress(row));
+        }
+        return table;
+    }
+
+    // Approximate bytes used by the columns and dictionaries
+    public long estimatedBytes() {
+        return 12L * numbers.length + names.dictionaryBytes() + addresses.dictionaryBytes();
+    }
+
+    private int[] numberKeys(boolean descending) {
+        int[] keys = new int[size];
+        for (int row = 0; row < size; row++) {
+            // Flip the sign bit so that unsigned byte order matches signed int order
+            keys[row] = (descending ? ~numbers[row] : numbers[row]) ^ Integer.MIN_VALUE;
+        }
+        return keys;
+    }
+
+    private int[] nameKeys(boolean descending) {
+        int[] keys = new int[size];
+        for (int row = 0; row < size; row++) {
+            int rank = names.rank(nameCodes[row]);
+            keys[row] = descending ? ~rank : rank;
+        }
+        return keys;
+    }
+
+    private int[] identity() {
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        return order;
+    }
+
+    // Stable LSD radix sort of 'order' by keys[row], compared as unsigned ints
+    private void radixSort(int[] order, int[] keys) {
+        int[] buffer = new int[size];
+        for (int shift = 0; shift < 32; shift += 8) {
+            int[] counts = new int[257];
+            for (int i = 0; i < size; i++) {
+                counts[((keys[order[i]] >>> shift) & 0xFF) + 1]++;
+            }
+            boolean trivial = false;
+            for (int d = 1; d <= 256 && !trivial; d++) {
+                trivial = counts[d] == size;
+            }
+            if (trivial) {
+                continue;
+            }
+            for (int d = 0; d < 256; d++) {
+                counts[d + 1] += counts[d];
+            }
+            for (int i = 0; i < size; i++) {
+                buffer[counts[(keys[order[i]] >>> shift) & 0xFF]++] = order[i];
+            }
+            System.arraycopy(buffer, 0, order, 0, size);
+        }
+    }
+
+    // Reorders every column so that row i becomes the old row order[i]
+    private void permute(int[] order) {
+        numbers = gather(numbers, order);
+        nameCodes = gather(nameCodes, order);
+        addressCodes = gather(addressCodes, order);
+    }
+
+    private int[] gather(int[] column, int[] order) {
+        int[] result = new int[column.length];
+        for (int i = 0; i < size; i++) {
+            result[i] = column[order[i]];
+        }
+        return result;
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row: " + row + ", Size: " + size);
+        }
+    }
+
+    // The ReverseOneField example on a table, followed by a memory comparison
+    public static void main(String[] args) {
+        StudentTable table = new StudentTable();
+        table.add(111, "Mayank", "london");
+        table.add(131, "Anshul", "nyc");
+        table.add(121, "Solanki", "jaipur");
+        table.add(101, "Aggarwal", "Hongkong");
+
+        System.out.println("Unsorted:");
+        table.print();
+
+        table.sortByNumber(false);
+        System.out.println("\nSorted by rollno:");
+        table.print();
+
+        table.sortByName(true);
+        System.out.println("\nSorted by name (reverse order):");
+        table.print();
+
+        // Memory: one million students, as objects and as a table
+        int n = 1_000_000;
+        String[] firstNames = { "Mayank", "Anshul", "Solanki", "Aggarwal", "Ajay", "Sneha", "Simran" };
+        String[] cities = { "london", "nyc", "jaipur", "Hongkong" };
+        Random random = new Random(42);
+
+        long before = usedMemory();
+        List<Student> students = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            students.add(new Student(i, firstNames[random.nextInt(firstNames.length)] + random.nextInt(1000),
+                cities[random.nextInt(cities.length)] + random.nextInt(100)));
+        }
+        long objectBytes = usedMemory() - before;
+
+        StudentTable big = fromStudents(students);
+        students = null;
+        System.out.println("\n" + n + " students as ArrayList<Student>: ~" + objectBytes / (1024 * 1024) + " MB");
+        System.out.println(n + " students as StudentTable:         ~" + big.estimatedBytes() / (1024 * 1024)
+            + " MB (" + big.size() + " rows)");
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,229 @@
+package Instrumentation;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * The metrics of one instrumented collection: call counts, sampled latency histograms and
+ * traversal counts per operation, plus the resizes reported by its GrowthModel.
+ *
+ * Every call is counted (one LongAdder increment), but only one call in 'sampleEvery' is
+ * timed, chosen at random, so the cost of System.nanoTime and of the histogram is divided by
+ * that factor. With sampleEvery = 1 every call is timed, which is fine for tests and demos;
+ * something like 64 keeps the overhead to a few nanoseconds per call in production.
+ * Statistics for an operation are only allocated the first time it is called.
+ *
+ * The metrics can be read directly, published to a MetricsSink on a schedule, or registered
+ * as an MXBean with registerMBean().
+ */
+public class CollectionMetrics implements CollectionMetricsMXBean {
+
+    // Returned by start() when the call is not timed
+    static final long NOT_SAMPLED = Long.MIN_VALUE;
+
+    private static final Operation[] OPERATIONS = Operation.values();
+
+    // Publishes metrics for every collection; a daemon thread, so it never keeps the JVM alive
+    private static final ScheduledExecutorService PUBLISHER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "collection-metrics-publisher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Counters of one operation
+    public static final class OperationStats {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder traversed = new LongAdder();
+        private final LatencyHistogram latencies = new LatencyHistogram();
+
+        public long calls() {
+            return calls.sum();
+        }
+
+        public long elementsTraversed() {
+            return traversed.sum();
+        }
+
+        public LatencyHistogram latencies() {
+            return latencies;
+        }
+    }
+
+    private final String name;
+    private final int sampleEvery;
+    private final AtomicReferenceArray<OperationStats> stats = new AtomicReferenceArray<>(OPERATIONS.length);
+    private final LongAdder resizes = new LongAdder();
+    private final LongAdder elementsCopied = new LongAdder();
+
+    public CollectionMetrics(String name) {
+        this(name, 1);
+    }
+
+    public CollectionMetrics(String name, int sampleEvery) {
+        if (sampleEvery < 1) {
+            throw new IllegalArgumentException("sampleEvery must be positive: " + sampleEvery);
+        }
+        this.name = name;
+        this.sampleEvery = sampleEvery;
+    }
+
+    // Counts a call and returns its start time if it is sampled, NOT_SAMPLED otherwise
+    long start(Operation operation) {
+        stats(operation).calls.increment();
+        if (sampleEvery == 1 || ThreadLocalRandom.current().nextInt(sampleEvery) == 0) {
+            return System.nanoTime();
+        }
+        return NOT_SAMPLED;
+    }
+
+    // Records the latency of a call started with start()
+    void end(Operation operation, long start) {
+        if (start != NOT_SAMPLED) {
+            stats(operation).latencies.record(System.nanoTime() - start);
+        }
+    }
+
+    void traversed(Operation operation, long elements) {
+        if (elements > 0) {
+            stats(operation).traversed.add(elements);
+        }
+    }
+
+    void recordResize(int copied) {
+        resizes.increment();
+        elementsCopied.add(copied);
+    }
+
+    // The statistics of an operation, or null if it was never called
+    public OperationStats get(Operation operation) {
+        return stats.get(operation.ordinal());
+    }
+
+    private OperationStats stats(Operation operation) {
+        OperationStats s = stats.get(operation.ordinal());
+        if (s == null) {
+            stats.compareAndSet(operation.ordinal(), null, new OperationStats());
+            s = stats.get(operation.ordinal());
+        }
+        return s;
+    }
+
+    public int getSampleEvery() {
+        return sampleEvery;
+    }
+
+    // Publishes these metrics to the sink every 'period', until the returned future is cancelled
+    public ScheduledFuture<?> publishEvery(MetricsSink sink, long period, TimeUnit unit) {
+        return PUBLISHER.scheduleAtFixedRate(() -> sink.publish(this), period, period, unit);
+    }
+
+    // Registers these metrics with the platform MBean server and returns their name
+    public ObjectName registerMBean() {
+        try {
+            ObjectName objectName = new ObjectName("Instrumentation:type=CollectionMetrics,name=" + ObjectName.quote(name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+            return objectName;
+        } catch (JMException e) {
+            throw new IllegalStateException("Could not register metrics for " + name, e);
+        }
+    }
+
+    // MXBean attributes
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Map<String, Long> getOperationCounts() {
+        return collect(s -> s.calls.sum(), false);
+    }
+
+    @Override
+    public Map<String, Long> getLatencyP50Nanos() {
+        return collect(s -> s.latencies.percentile(50), false);
+    }
+
+    @Override
+    public Map<String, Long> getLatencyP99Nanos() {
+        return collect(s -> s.latencies.percentile(99), false);
+    }
+
+    @Override
+    public Map<String, Long> getLatencyP999Nanos() {
+        return collect(s -> s.latencies.percentile(99.9), false);
+    }
+
+    @Override
+    public Map<String, Long> getLatencyMaxNanos() {
+        return collect(s -> s.latencies.max(), false);
+    }
+
+    @Override
+    public Map<String, Long> getElementsTraversed() {
+        return collect(s -> s.traversed.sum(), true);
+    }
+
+    @Override
+    public long getResizeCount() {
+        return resizes.sum();
+    }
+
+    @Override
+    public long getElementsCopied() {
+        return elementsCopied.sum();
+    }
+
+    // One line per operation that was called, then the resize totals
+    @Override
+    public String getReport() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%s (1 in %d calls timed)%n", name, sampleEvery));
+        sb.append(String.format("  %-22s %10s %9s %9s %9s %9s %12s%n",
+            "operation", "calls", "p50 ns", "p99 ns", "p99.9 ns", "max ns", "traversed"));
+        for (Operation operation : OPERATIONS) {
+            OperationStats s = get(operation);
+            if (s == null) {
+                continue;
+            }
+            LatencyHistogram h = s.latencies;
+            sb.append(String.format("  %-22s %10d %9d %9d %9d %9d %12s%n", operation.label(), s.calls.sum(),
+                h.percentile(50), h.percentile(99), h.percentile(99.9), h.max(),
+                operation.isTraversal() ? String.valueOf(s.traversed.sum()) : "-"));
+        }
+        sb.append(String.format("  resizes: %d, elements copied: %d%n", resizes.sum(), elementsCopied.sum()));
+        return sb.toString();
+    }
+
+    @Override
+    public void reset() {
+        for (int i = 0; i < OPERATIONS.length; i++) {
+            stats.set(i, null);
+        }
+        resizes.reset();
+        elementsCopied.reset();
+    }
+
+    private Map<String, Long> collect(ToLongFunction<OperationStats> value, boolean traversalsOnly) {
+        Map<String, Long> map = new LinkedHashMap<>();
+        for (Operation operation : OPERATIONS) {
+            OperationStats s = get(operation);
+            if (s != null && (!traversalsOnly || operation.isTraversal())) {
+                map.put(operation.label(), value.applyAsLong(s));
+            }
+        }
+        return map;
+    }
+}
@@ -0,0 +1,35 @@
+package Instrumentation;
+
+import java.util.Map;
+
+/**
+ * The JMX view of a CollectionMetrics, as shown by JConsole or VisualVM under
+ * "Instrumentation:type=CollectionMetrics". Maps are keyed by operation label, e.g. "push".
+ */
+public interface CollectionMetricsMXBean {
+
+    String getName();
+
+    // Calls per operation (every call is counted, sampled or not)
+    Map<String, Long> getOperationCounts();
+
+    // Latency percentiles per operation, in nanoseconds, from the sampled calls
+    Map<String, Long> getLatencyP50Nanos();
+
+    Map<String, Long> getLatencyP99Nanos();
+
+    Map<String, Long> getLatencyP999Nanos();
+
+    Map<String, Long> getLatencyMaxNanos();
+
+    // Elements visited per traversal operation (contains, remove(Object), get(i), ...)
+    Map<String, Long> getElementsTraversed();
+
+    long getResizeCount();
+
+    long getElementsCopied();
+
+    String getReport();
+
+    void reset();
+}
@@ -0,0 +1,143 @@
+package Instrumentation;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.PriorityQueue;
+
+/**
+ * Follows the capacity of an array-backed collection to report its resizes.
+ *
+ * A decorator cannot see the internal array of the collection it wraps, so it replays the
+ * growth rule of the JDK 17 implementation instead: every time the size passes the modelled
+ * capacity, one resize is counted together with the number of elements the collection had
+ * to copy into the new array. The model assumes the collection was created with its default
+ * constructor, or with the initial capacity given to the factory method, and never trimmed;
+ * array-backed collections never shrink on their own. The capacity of a collection that
+ * already holds elements cannot be known, so forCollection uses NONE for it.
+ * Linked collections never resize, so they use NONE.
+ */
+public abstract class GrowthModel {
+
+    // For collections that allocate per element (LinkedList, TreeMap, ...)
+    public static final GrowthModel NONE = new GrowthModel(Integer.MAX_VALUE) {
+        @Override
+        int grow(int capacity, int needed) {
+            return Integer.MAX_VALUE;
+        }
+    };
+
+    private volatile int capacity;
+
+    private GrowthModel(int initialCapacity) {
+        this.capacity = initialCapacity;
+    }
+
+    // ArrayList: empty until the first add (then 10), then grows by half
+    public static GrowthModel arrayList() {
+        return new GrowthModel(0) {
+            @Override
+            int grow(int capacity, int needed) {
+                return capacity == 0 ? Math.max(10, needed) : Math.max(needed, capacity + (capacity >> 1));
+            }
+        };
+    }
+
+    // ArrayList created with new ArrayList<>(initialCapacity): grows by half from the start
+    public static GrowthModel arrayList(int initialCapacity) {
+        return new GrowthModel(checkCapacity(initialCapacity)) {
+            @Override
+            int grow(int capacity, int needed) {
+                return Math.max(needed, capacity + (capacity >> 1));
+            }
+        };
+    }
+
+    // ArrayDeque: 17 slots, doubling (+2) while small, then growing by half.
+    // It grows as soon as the last free slot is taken.
+    public static GrowthModel arrayDeque() {
+        return arrayDeque(16);
+    }
+
+    // ArrayDeque created with new ArrayDeque<>(numElements): one slot more than asked for
+    public static GrowthModel arrayDeque(int numElements) {
+        return new GrowthModel(checkCapacity(numElements) + 1) {
+            @Override
+            int grow(int capacity, int needed) {
+                int jump = capacity < 64 ? capacity + 2 : capacity >> 1;
+                return Math.max(needed + 1, capacity + jump);
+            }
+
+            @Override
+            boolean fits(int capacity, int size) {
+                return size < capacity;
+            }
+        };
+    }
+
+    // PriorityQueue: 11 slots, doubling (+2) while small, then growing by half
+    public static GrowthModel priorityQueue() {
+        return priorityQueue(11);
+    }
+
+    // PriorityQueue created with new PriorityQueue<>(initialCapacity)
+    public static GrowthModel priorityQueue(int initialCapacity) {
+        if (initialCapacity < 1) {
+            throw new IllegalArgumentException("initialCapacity must be positive: " + initialCapacity);
+        }
+        return new GrowthModel(initialCapacity) {
+            @Override
+            int grow(int capacity, int needed) {
+                int jump = capacity < 64 ? capacity + 2 : capacity >> 1;
+                return Math.max(needed, capacity + jump);
+            }
+        };
+    }
+
+    private static int checkCapacity(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Illegal capacity: " + capacity);
+        }
+        return capacity;
+    }
+
+    // Picks the model matching the class of an empty collection created with its default
+    // constructor; NONE for a collection that already holds elements
+    public static GrowthModel forCollection(Collection<?> collection) {
+        if (!collection.isEmpty()) {
+            return NONE;
+        }
+        if (collection.getClass() == ArrayList.class) {
+            return arrayList();
+        }
+        if (collection.getClass() == ArrayDeque.class) {
+            return arrayDeque();
+        }
+        if (collection.getClass() == PriorityQueue.class) {
+            return priorityQueue();
+        }
+        return NONE;
+    }
+
+    // The new capacity when 'needed' elements do not fit in 'capacity'
+    abstract int grow(int capacity, int needed);
+
+    // True if 'size' elements fit in an array of 'capacity' slots without growing
+    boolean fits(int capacity, int size) {
+        return size <= capacity;
+    }
+
+    // Replays the growth up to 'size' elements and records every resize in 'metrics'
+    void onSize(int size, CollectionMetrics metrics) {
+        if (fits(capacity, size)) {
+            return;
+        }
+        synchronized (this) {
+            while (!fits(capacity, size)) {
+                int before = capacity;
+                capacity = grow(capacity, size);
+                metrics.recordResize(Math.min(before, size));
+            }
+        }
+    }
+}
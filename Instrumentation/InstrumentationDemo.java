@@ -0,0 +1,90 @@
+package Instrumentation;
+
+import StackVector.StackLab.Lab;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wraps the collections of the examples in instrumented decorators, runs their typical
+ * operations and prints what was recorded:
+ * - the Deque from Lab used as a stack (push / peek / pop),
+ * - a LinkedList used as a music playlist (add, move to top / bottom, remove by title),
+ * - a PriorityQueue of states as in PriorityQueueDemo.
+ *
+ * The metrics are also registered as MXBeans, so while the demo waits at the end they can be
+ * inspected with JConsole under "Instrumentation". Pass --publish to print them every second
+ * through the console sink while the collections are in use.
+ */
+public class InstrumentationDemo {
+
+    public static void main(String[] args) throws InterruptedException {
+        boolean publish = args.length > 0 && args[0].equals("--publish");
+        Random random = new Random(42);
+
+        // Stack from Lab, one call in 8 timed
+        InstrumentedDeque<String> stack = new InstrumentedDeque<>(new Lab().createNewStack(),
+            new CollectionMetrics("Lab stack", 8));
+        ScheduledFuture<?> publisher = publish
+            ? stack.metrics().publishEvery(MetricsSink.console(), 1, TimeUnit.SECONDS) : null;
+        for (int round = 0; round < 2_000; round++) {
+            for (int i = 0; i < 100; i++) {
+                stack.push("plate " + i);
+            }
+            while (!stack.isEmpty()) {
+                stack.peek();
+                stack.pop();
+            }
+        }
+
+        // Playlist on a LinkedList: every lookup by title walks the list
+        List<String> playlist = new InstrumentedList<>(new LinkedList<>(), "Playlist (LinkedList)");
+        for (int i = 0; i < 500; i++) {
+            playlist.add("Song " + i);
+        }
+        for (int i = 0; i < 2_000; i++) {
+            String song = "Song " + random.nextInt(500);
+            int index = playlist.indexOf(song);
+            playlist.remove(index);
+            if (random.nextBoolean()) {
+                playlist.add(0, song);  // favorite: move to the top
+            } else {
+                playlist.add(song);     // least favorite: move to the bottom
+            }
+            playlist.get(random.nextInt(playlist.size()));
+        }
+        playlist.remove("Song 7");
+        playlist.contains("Song 7");
+
+        // States in a PriorityQueue
+        String[] states = { "Alabama", "Alaska", "Arizona", "Arkansas", "California", "Colorado",
+            "Connecticut", "Delaware", "Florida", "Georgia", "Hawaii", "Idaho", "Illinois", "Indiana" };
+        Queue<String> pq = new InstrumentedQueue<>(new PriorityQueue<>(), "States (PriorityQueue)");
+        for (int round = 0; round < 1_000; round++) {
+            for (int i = 0; i < 50; i++) {
+                pq.add(states[random.nextInt(states.length)]);
+            }
+            while (!pq.isEmpty()) {
+                pq.poll();
+            }
+        }
+
+        if (publisher != null) {
+            publisher.cancel(false);
+        }
+
+        InstrumentedCollection<?>[] collections = { stack, (InstrumentedCollection<?>) playlist,
+            (InstrumentedCollection<?>) pq };
+        for (InstrumentedCollection<?> collection : collections) {
+            System.out.println(collection.metrics().getReport());
+            collection.metrics().registerMBean();
+        }
+
+        System.out.println("Metrics registered as MXBeans; connect with JConsole within 5 seconds to inspect them.");
+        Thread.sleep(5_000);
+    }
+}
@@ -0,0 +1,231 @@
+package Instrumentation;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * A Collection that forwards every call to another collection and records it in a
+ * CollectionMetrics: call counts, sampled latencies, elements traversed and resizes.
+ *
+ * The decorator never changes how the wrapped collection works, so it cannot see where a scan
+ * stopped inside it. Lists and queues find an element by a linear scan: for them contains and
+ * remove(Object) record the size of the collection, which is exact when the element is absent
+ * and the worst case otherwise; InstrumentedList records exact counts where the result tells
+ * it (indexOf, get(i), ...). Other collections, such as hash and tree sets, find an element
+ * without a scan, so no traversal is recorded for them. toArray, removeIf and retainAll visit
+ * every element of any collection.
+ * size() and isEmpty() are not recorded: they are called far too often to be interesting.
+ */
+public class InstrumentedCollection<E> implements Collection<E> {
+
+    private final Collection<E> delegate;
+    protected final CollectionMetrics metrics;
+    private final GrowthModel growth;
+
+    // True if the delegate looks elements up by a linear scan
+    private final boolean scans;
+
+    public InstrumentedCollection(Collection<E> delegate, String name) {
+        this(delegate, new CollectionMetrics(name));
+    }
+
+    public InstrumentedCollection(Collection<E> delegate, CollectionMetrics metrics) {
+        this(delegate, metrics, GrowthModel.forCollection(delegate));
+    }
+
+    public InstrumentedCollection(Collection<E> delegate, CollectionMetrics metrics, GrowthModel growth) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+        this.growth = growth;
+        this.scans = delegate instanceof List || delegate instanceof Queue;
+    }
+
+    public CollectionMetrics metrics() {
+        return metrics;
+    }
+
+    // To be called after every method that may add elements
+    protected void added() {
+        if (growth != GrowthModel.NONE) {
+            growth.onSize(delegate.size(), metrics);
+        }
+    }
+
+    @Override
+    public int size() {
+        return delegate.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return delegate.isEmpty();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        long start = metrics.start(Operation.CONTAINS);
+        try {
+            if (scans) {
+                metrics.traversed(Operation.CONTAINS, delegate.size());
+            }
+            return delegate.contains(o);
+        } finally {
+            metrics.end(Operation.CONTAINS, start);
+        }
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        long start = metrics.start(Operation.ITERATOR);
+        try {
+            return delegate.iterator();
+        } finally {
+            metrics.end(Operation.ITERATOR, start);
+        }
+    }
+
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        delegate.forEach(action);
+    }
+
+    @Override
+    public Spliterator<E> spliterator() {
+        return delegate.spliterator();
+    }
+
+    @Override
+    public Object[] toArray() {
+        long start = metrics.start(Operation.TO_ARRAY);
+        try {
+            metrics.traversed(Operation.TO_ARRAY, delegate.size());
+            return delegate.toArray();
+        } finally {
+            metrics.end(Operation.TO_ARRAY, start);
+        }
+    }
+
+    @Override
+    public <T> T[] toArray(T[] a) {
+        long start = metrics.start(Operation.TO_ARRAY);
+        try {
+            metrics.traversed(Operation.TO_ARRAY, delegate.size());
+            return delegate.toArray(a);
+        } finally {
+            metrics.end(Operation.TO_ARRAY, start);
+        }
+    }
+
+    @Override
+    public boolean add(E e) {
+        long start = metrics.start(Operation.ADD);
+        try {
+            return delegate.add(e);
+        } finally {
+            metrics.end(Operation.ADD, start);
+            added();
+        }
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        long start = metrics.start(Operation.REMOVE_OBJECT);
+        try {
+            if (scans) {
+                metrics.traversed(Operation.REMOVE_OBJECT, delegate.size());
+            }
+            return delegate.remove(o);
+        } finally {
+            metrics.end(Operation.REMOVE_OBJECT, start);
+        }
+    }
+
+    @Override
+    public boolean containsAll(Collection<?> c) {
+        long start = metrics.start(Operation.CONTAINS_ALL);
+        try {
+            if (scans) {
+                metrics.traversed(Operation.CONTAINS_ALL, (long) delegate.size() * c.size());
+            }
+            return delegate.containsAll(c);
+        } finally {
+            metrics.end(Operation.CONTAINS_ALL, start);
+        }
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends E> c) {
+        long start = metrics.start(Operation.ADD_ALL);
+        try {
+            return delegate.addAll(c);
+        } finally {
+            metrics.end(Operation.ADD_ALL, start);
+            added();
+        }
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        long start = metrics.start(Operation.REMOVE_ALL);
+        try {
+            if (scans) {
+                metrics.traversed(Operation.REMOVE_ALL, delegate.size());
+            }
+            return delegate.removeAll(c);
+        } finally {
+            metrics.end(Operation.REMOVE_ALL, start);
+        }
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        long start = metrics.start(Operation.RETAIN_ALL);
+        try {
+            metrics.traversed(Operation.RETAIN_ALL, delegate.size());
+            return delegate.retainAll(c);
+        } finally {
+            metrics.end(Operation.RETAIN_ALL, start);
+        }
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super E> filter) {
+        long start = metrics.start(Operation.REMOVE_IF);
+        try {
+            metrics.traversed(Operation.REMOVE_IF, delegate.size());
+            return delegate.removeIf(filter);
+        } finally {
+            metrics.end(Operation.REMOVE_IF, start);
+        }
+    }
+
+    @Override
+    public void clear() {
+        long start = metrics.start(Operation.CLEAR);
+        try {
+            delegate.clear();
+        } finally {
+            metrics.end(Operation.CLEAR, start);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o == this || delegate.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return delegate.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return delegate.toString();
+    }
+}
@@ -0,0 +1,203 @@
+package Instrumentation;
+
+import java.util.Deque;
+import java.util.Iterator;
+
+/**
+ * A Deque that records every call in a CollectionMetrics; see InstrumentedCollection.
+ * Wrapping the deque returned by Lab.createNewStack() shows the cost of each stack operation.
+ */
+public class InstrumentedDeque<E> extends InstrumentedQueue<E> implements Deque<E> {
+
+    private final Deque<E> deque;
+
+    public InstrumentedDeque(Deque<E> deque, String name) {
+        this(deque, new CollectionMetrics(name));
+    }
+
+    public InstrumentedDeque(Deque<E> deque, CollectionMetrics metrics) {
+        this(deque, metrics, GrowthModel.forCollection(deque));
+    }
+
+    public InstrumentedDeque(Deque<E> deque, CollectionMetrics metrics, GrowthModel growth) {
+        super(deque, metrics, growth);
+        this.deque = deque;
+    }
+
+    @Override
+    public void push(E e) {
+        long start = metrics.start(Operation.PUSH);
+        try {
+            deque.push(e);
+        } finally {
+            metrics.end(Operation.PUSH, start);
+            added();
+        }
+    }
+
+    @Override
+    public E pop() {
+        long start = metrics.start(Operation.POP);
+        try {
+            return deque.pop();
+        } finally {
+            metrics.end(Operation.POP, start);
+        }
+    }
+
+    @Override
+    public void addFirst(E e) {
+        long start = metrics.start(Operation.ADD_FIRST);
+        try {
+            deque.addFirst(e);
+        } finally {
+            metrics.end(Operation.ADD_FIRST, start);
+            added();
+        }
+    }
+
+    @Override
+    public void addLast(E e) {
+        long start = metrics.start(Operation.ADD_LAST);
+        try {
+            deque.addLast(e);
+        } finally {
+            metrics.end(Operation.ADD_LAST, start);
+            added();
+        }
+    }
+
+    @Override
+    public boolean offerFirst(E e) {
+        long start = metrics.start(Operation.OFFER_FIRST);
+        try {
+            return deque.offerFirst(e);
+        } finally {
+            metrics.end(Operation.OFFER_FIRST, start);
+            added();
+        }
+    }
+
+    @Override
+    public boolean offerLast(E e) {
+        long start = metrics.start(Operation.OFFER_LAST);
+        try {
+            return deque.offerLast(e);
+        } finally {
+            metrics.end(Operation.OFFER_LAST, start);
+            added();
+        }
+    }
+
+    @Override
+    public E removeFirst() {
+        long start = metrics.start(Operation.REMOVE_FIRST);
+        try {
+            return deque.removeFirst();
+        } finally {
+            metrics.end(Operation.REMOVE_FIRST, start);
+        }
+    }
+
+    @Override
+    public E removeLast() {
+        long start = metrics.start(Operation.REMOVE_LAST);
+        try {
+            return deque.removeLast();
+        } finally {
+            metrics.end(Operation.REMOVE_LAST, start);
+        }
+    }
+
+    @Override
+    public E pollFirst() {
+        long start = metrics.start(Operation.POLL_FIRST);
+        try {
+            return deque.pollFirst();
+        } finally {
+            metrics.end(Operation.POLL_FIRST, start);
+        }
+    }
+
+    @Override
+    public E pollLast() {
+        long start = metrics.start(Operation.POLL_LAST);
+        try {
+            return deque.pollLast();
+        } finally {
+            metrics.end(Operation.POLL_LAST, start);
+        }
+    }
+
+    @Override
+    public E getFirst() {
+        long start = metrics.start(Operation.GET_FIRST);
+        try {
+            return deque.getFirst();
+        } finally {
+            metrics.end(Operation.GET_FIRST, start);
+        }
+    }
+
+    @Override
+    public E getLast() {
+        long start = metrics.start(Operation.GET_LAST);
+        try {
+            return deque.getLast();
+        } finally {
+            metrics.end(Operation.GET_LAST, start);
+        }
+    }
+
+    @Override
+    public E peekFirst() {
+        long start = metrics.start(Operation.PEEK_FIRST);
+        try {
+            return deque.peekFirst();
+        } finally {
+            metrics.end(Operation.PEEK_FIRST, start);
+        }
+    }
+
+    @Override
+    public E peekLast() {
+        long start = metrics.start(Operation.PEEK_LAST);
+        try {
+            return deque.peekLast();
+        } finally {
+            metrics.end(Operation.PEEK_LAST, start);
+        }
+    }
+
+    @Override
+    public boolean removeFirstOccurrence(Object o) {
+        long start = metrics.start(Operation.REMOVE_FIRST_OCCURRENCE);
+        try {
+            metrics.traversed(Operation.REMOVE_FIRST_OCCURRENCE, deque.size());
+            return deque.removeFirstOccurrence(o);
+        } finally {
+            metrics.end(Operation.REMOVE_FIRST_OCCURRENCE, start);
+        }
+    }
+
+    @Override
+    public boolean removeLastOccurrence(Object o) {
+        long start = metrics.start(Operation.REMOVE_LAST_OCCURRENCE);
+        try {
+            metrics.traversed(Operation.REMOVE_LAST_OCCURRENCE, deque.size());
+            return deque.removeLastOccurrence(o);
+        } finally {
+            metrics.end(Operation.REMOVE_LAST_OCCURRENCE, start);
+        }
+    }
+
+    @Override
+    public Iterator<E> descendingIterator() {
+        long start = metrics.start(Operation.ITERATOR);
+        try {
+            return deque.descendingIterator();
+        } finally {
+            metrics.end(Operation.ITERATOR, start);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package Instrumentation;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.RandomAccess;
+
+/**
+ * A List that records every call in a CollectionMetrics; see InstrumentedCollection.
+ *
+ * For the positional methods the elements traversed follow the kind of list: an array list
+ * (RandomAccess) reaches any index directly but shifts the elements after it on add(i) and
+ * remove(i), a linked list walks from the nearest end. indexOf and lastIndexOf record exactly
+ * the elements they compared, and so does contains, which is answered with indexOf.
+ * remove(Object) is left to the wrapped list, as in InstrumentedCollection, and records the
+ * size of the list: exact for an array list, which compares the elements up to the match and
+ * shifts the ones after it, and the worst case for a linked list.
+ */
+public class InstrumentedList<E> extends InstrumentedCollection<E> implements List<E> {
+
+    private final List<E> list;
+    private final boolean randomAccess;
+
+    public InstrumentedList(List<E> list, String name) {
+        this(list, new CollectionMetrics(name));
+    }
+
+    public InstrumentedList(List<E> list, CollectionMetrics metrics) {
+        this(list, metrics, GrowthModel.forCollection(list));
+    }
+
+    public InstrumentedList(List<E> list, CollectionMetrics metrics, GrowthModel growth) {
+        super(list, metrics, growth);
+        this.list = list;
+        this.randomAccess = list instanceof RandomAccess;
+    }
+
+    // Elements visited to reach 'index'
+    private long reach(int index, int size) {
+        return randomAccess ? 1 : Math.min(index, size - index) + 1;
+    }
+
+    // Elements visited or moved to insert or remove at 'index'
+    private long shift(int index, int size) {
+        return randomAccess ? size - index : Math.min(index, size - index) + 1;
+    }
+
+    @Override
+    public E get(int index) {
+        long start = metrics.start(Operation.GET);
+        try {
+            metrics.traversed(Operation.GET, reach(index, list.size()));
+            return list.get(index);
+        } finally {
+            metrics.end(Operation.GET, start);
+        }
+    }
+
+    @Override
+    public E set(int index, E element) {
+        long start = metrics.start(Operation.SET);
+        try {
+            metrics.traversed(Operation.SET, reach(index, list.size()));
+            return list.set(index, element);
+        } finally {
+            metrics.end(Operation.SET, start);
+        }
+    }
+
+    @Override
+    public void add(int index, E element) {
+        long start = metrics.start(Operation.ADD_AT);
+        try {
+            metrics.traversed(Operation.ADD_AT, shift(index, list.size()));
+            list.add(index, element);
+        } finally {
+            metrics.end(Operation.ADD_AT, start);
+            added();
+        }
+    }
+
+    @Override
+    public E remove(int index) {
+        long start = metrics.start(Operation.REMOVE_AT);
+        try {
+            metrics.traversed(Operation.REMOVE_AT, shift(index, list.size()));
+            return list.remove(index);
+        } finally {
+            metrics.end(Operation.REMOVE_AT, start);
+        }
+    }
+
+    @Override
+    public boolean addAll(int index, Collection<? extends E> c) {
+        long start = metrics.start(Operation.ADD_ALL);
+        try {
+            return list.addAll(index, c);
+        } finally {
+            metrics.end(Operation.ADD_ALL, start);
+            added();
+        }
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        long start = metrics.start(Operation.CONTAINS);
+        try {
+            int index = list.indexOf(o);
+            metrics.traversed(Operation.CONTAINS, index < 0 ? list.size() : index + 1);
+            return index >= 0;
+        } finally {
+            metrics.end(Operation.CONTAINS, start);
+        }
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        long start = metrics.start(Operation.INDEX_OF);
+        try {
+            int index = list.indexOf(o);
+            metrics.traversed(Operation.INDEX_OF, index < 0 ? list.size() : index + 1);
+            return index;
+        } finally {
+            metrics.end(Operation.INDEX_OF, start);
+        }
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        long start = metrics.start(Operation.LAST_INDEX_OF);
+        try {
+            int index = list.lastIndexOf(o);
+            int size = list.size();
+            metrics.traversed(Operation.LAST_INDEX_OF, index < 0 ? size : size - index);
+            return index;
+        } finally {
+            metrics.end(Operation.LAST_INDEX_OF, start);
+        }
+    }
+
+    @Override
+    public void sort(Comparator<? super E> c) {
+        long start = metrics.start(Operation.SORT);
+        try {
+            list.sort(c);
+        } finally {
+            metrics.end(Operation.SORT, start);
+        }
+    }
+
+    @Override
+    public ListIterator<E> listIterator() {
+        return listIterator(0);
+    }
+
+    @Override
+    public ListIterator<E> listIterator(int index) {
+        long start = metrics.start(Operation.ITERATOR);
+        try {
+            return list.listIterator(index);
+        } finally {
+            metrics.end(Operation.ITERATOR, start);
+        }
+    }
+
+    // The view records into the same metrics; it has no growth model of its own
+    @Override
+    public List<E> subList(int fromIndex, int toIndex) {
+        return new InstrumentedList<>(list.subList(fromIndex, toIndex), metrics, GrowthModel.NONE);
+    }
+}
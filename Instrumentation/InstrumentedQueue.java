@@ -0,0 +1,75 @@
+package Instrumentation;
+
+import java.util.Queue;
+
+/**
+ * A Queue that records every call in a CollectionMetrics; see InstrumentedCollection.
+ */
+public class InstrumentedQueue<E> extends InstrumentedCollection<E> implements Queue<E> {
+
+    private final Queue<E> queue;
+
+    public InstrumentedQueue(Queue<E> queue, String name) {
+        this(queue, new CollectionMetrics(name));
+    }
+
+    public InstrumentedQueue(Queue<E> queue, CollectionMetrics metrics) {
+        this(queue, metrics, GrowthModel.forCollection(queue));
+    }
+
+    public InstrumentedQueue(Queue<E> queue, CollectionMetrics metrics, GrowthModel growth) {
+        super(queue, metrics, growth);
+        this.queue = queue;
+    }
+
+    @Override
+    public boolean offer(E e) {
+        long start = metrics.start(Operation.OFFER);
+        try {
+            return queue.offer(e);
+        } finally {
+            metrics.end(Operation.OFFER, start);
+            added();
+        }
+    }
+
+    @Override
+    public E remove() {
+        long start = metrics.start(Operation.REMOVE);
+        try {
+            return queue.remove();
+        } finally {
+            metrics.end(Operation.REMOVE, start);
+        }
+    }
+
+    @Override
+    public E poll() {
+        long start = metrics.start(Operation.POLL);
+        try {
+            return queue.poll();
+        } finally {
+            metrics.end(Operation.POLL, start);
+        }
+    }
+
+    @Override
+    public E element() {
+        long start = metrics.start(Operation.ELEMENT);
+        try {
+            return queue.element();
+        } finally {
+            metrics.end(Operation.ELEMENT, start);
+        }
+    }
+
+    @Override
+    public E peek() {
+        long start = metrics.start(Operation.PEEK);
+        try {
+            return queue.peek();
+        } finally {
+            metrics.end(Operation.PEEK, start);
+        }
+    }
+}
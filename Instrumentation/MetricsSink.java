@@ -0,0 +1,15 @@
+package Instrumentation;
+
+/**
+ * Receives the metrics of an instrumented collection, e.g. to print them or to forward them
+ * to a monitoring system. See CollectionMetrics.publishEvery.
+ */
+public interface MetricsSink {
+
+    void publish(CollectionMetrics metrics);
+
+    // Prints the report of the metrics to System.out
+    static MetricsSink console() {
+        return metrics -> System.out.print(metrics.getReport());
+    }
+}
@@ -0,0 +1,76 @@
+package Instrumentation;
+
+/**
+ * The collection methods recorded by the instrumented decorators.
+ *
+ * Methods that may have to walk the elements (contains, remove(Object), indexOf, get(i) on a
+ * linked list, ...) are marked as traversals; for those the decorators also count how many
+ * elements were visited.
+ */
+public enum Operation {
+    // Collection
+    ADD("add"),
+    ADD_ALL("addAll"),
+    CONTAINS("contains", true),
+    CONTAINS_ALL("containsAll", true),
+    REMOVE_OBJECT("remove(Object)", true),
+    REMOVE_ALL("removeAll", true),
+    RETAIN_ALL("retainAll", true),
+    REMOVE_IF("removeIf", true),
+    CLEAR("clear"),
+    ITERATOR("iterator"),
+    TO_ARRAY("toArray", true),
+
+    // Queue and Deque
+    OFFER("offer"),
+    POLL("poll"),
+    PEEK("peek"),
+    ELEMENT("element"),
+    REMOVE("remove()"),
+    PUSH("push"),
+    POP("pop"),
+    ADD_FIRST("addFirst"),
+    ADD_LAST("addLast"),
+    OFFER_FIRST("offerFirst"),
+    OFFER_LAST("offerLast"),
+    POLL_FIRST("pollFirst"),
+    POLL_LAST("pollLast"),
+    PEEK_FIRST("peekFirst"),
+    PEEK_LAST("peekLast"),
+    GET_FIRST("getFirst"),
+    GET_LAST("getLast"),
+    REMOVE_FIRST("removeFirst"),
+    REMOVE_LAST("removeLast"),
+    REMOVE_FIRST_OCCURRENCE("removeFirstOccurrence", true),
+    REMOVE_LAST_OCCURRENCE("removeLastOccurrence", true),
+
+    // List
+    GET("get(i)", true),
+    SET("set(i)", true),
+    ADD_AT("add(i)", true),
+    REMOVE_AT("remove(i)", true),
+    INDEX_OF("indexOf", true),
+    LAST_INDEX_OF("lastIndexOf", true),
+    SORT("sort");
+
+    private final String label;
+    private final boolean traversal;
+
+    Operation(String label) {
+        this(label, false);
+    }
+
+    Operation(String label, boolean traversal) {
+        this.label = label;
+        this.traversal = traversal;
+    }
+
+    public String label() {
+        return label;
+    }
+
+    // True if the operation may visit many elements
+    public boolean isTraversal() {
+        return traversal;
+    }
+}
@@ -0,0 +1,191 @@
+package Interning;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A thread-safe pool that maps every distinct String to a small int ID (0, 1, 2, ...).
+ *
+ * Songs added to many playlists, states picked again and again by PriorityQueueDemo and hero
+ * names are each stored once here; collections can then hold the int IDs instead:
+ * - an int[] of IDs costs 4 bytes per entry, a String[] costs a reference plus, for strings
+ *   read from input, a String object and its byte array per entry;
+ * - two IDs are equal exactly when the strings are equal, so equals() becomes an int compare.
+ *
+ * IDs are given in order of first appearance and never change. intern() and idOf() of a
+ * string already in the pool are lock-free reads of a ConcurrentHashMap; only new strings take
+ * a short lock to get the next ID. string(id) is an array read.
+ *
+ * IDs do not follow String order. For sorting and priority comparisons, ranks() returns an
+ * order-preserving encoding: rank(a) < rank(b) exactly when string(a).compareTo(string(b)) < 0.
+ * The ranks are kept between calls: when new strings have been added, only those are sorted
+ * and merged into the previous order, so sorting n IDs by rank costs n int comparisons instead
+ * of n String comparisons. A Ranks object only covers the IDs that existed when it was made.
+ */
+public class StringPool {
+
+    private static final int PAGE_BITS = 10;
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;
+
+    private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+    private final Object lock = new Object();
+
+    // strings[id >> PAGE_BITS][id & (PAGE_SIZE - 1)]; pages are never moved once created
+    private volatile String[][] pages = new String[1][];
+    private volatile int size;
+
+    private volatile Ranks ranks;
+
+    // Returns the ID of the string, adding it to the pool if needed
+    public int intern(String s) {
+        Integer id = ids.get(s);
+        if (id != null) {
+            return id;
+        }
+        return ids.computeIfAbsent(s, this::append);
+    }
+
+    // Interns every string of the array
+    public int[] internAll(String[] strings) {
+        int[] result = new int[strings.length];
+        for (int i = 0; i < strings.length; i++) {
+            result[i] = intern(strings[i]);
+        }
+        return result;
+    }
+
+    // Returns the ID of the string, or -1 if it is not in the pool
+    public int idOf(String s) {
+        Integer id = ids.get(s);
+        return id == null ? -1 : id;
+    }
+
+    // Stores the string under the next ID. The map publishes the ID only after this returns,
+    // so any thread that gets the ID from the map also sees the stored string.
+    private Integer append(String s) {
+        synchronized (lock) {
+            int id = size;
+            int page = id >> PAGE_BITS;
+            String[][] p = pages;
+            if (page == p.length) {
+                p = Arrays.copyOf(p, p.length * 2);
+            }
+            if (p[page] == null) {
+                p[page] = new String[PAGE_SIZE];
+            }
+            p[page][id & (PAGE_SIZE - 1)] = s;
+            pages = p;
+            size = id + 1;
+            return id;
+        }
+    }
+
+    public String string(int id) {
+        if (id < 0 || id >= size) {
+            throw new IllegalArgumentException("Unknown ID: " + id);
+        }
+        return pages[id >> PAGE_BITS][id & (PAGE_SIZE - 1)];
+    }
+
+    // Number of distinct strings in the pool
+    public int size() {
+        return size;
+    }
+
+    // Order-preserving ranks of all the IDs currently in the pool. If strings were added since
+    // the last call, the previous ranks are extended with them instead of being rebuilt.
+    public Ranks ranks() {
+        Ranks r = ranks;
+        int n = size;
+        if (r == null || r.size() != n) {
+            r = new Ranks(this, r, n);
+            ranks = r;
+        }
+        return r;
+    }
+
+    /**
+     * The rank of every ID of a pool at one point in time, in String.compareTo order.
+     * Immutable, so it can be shared between threads; IDs added later are rejected with an
+     * IllegalArgumentException, call ranks() again to cover them.
+     */
+    public static final class Ranks {
+
+        private final int[] rankOf; // rankOf[id]
+        private final int[] idAt;   // idAt[rank]
+
+        // Ranks of the IDs 0..n-1, reusing 'previous' (ranks of the first IDs, or null)
+        private Ranks(StringPool pool, Ranks previous, int n) {
+            int known = previous == null ? 0 : Math.min(previous.size(), n);
+
+            // Sort only the new strings. Pool strings are distinct, so each one's position
+            // in the sorted copy can be found again by binary search: no boxed IDs needed.
+            String[] added = new String[n - known];
+            for (int id = known; id < n; id++) {
+                added[id - known] = pool.string(id);
+            }
+            String[] sortedAdded = added.clone();
+            Arrays.sort(sortedAdded);
+            int[] addedAt = new int[added.length];
+            for (int i = 0; i < added.length; i++) {
+                addedAt[Arrays.binarySearch(sortedAdded, added[i])] = known + i;
+            }
+
+            // Merge the previous order with the new strings
+            idAt = new int[n];
+            int i = 0;
+            int j = 0;
+            for (int rank = 0; rank < n; rank++) {
+                if (j == addedAt.length
+                        || i < known && pool.string(previous.idAt[i]).compareTo(sortedAdded[j]) < 0) {
+                    idAt[rank] = previous.idAt[i++];
+                } else {
+                    idAt[rank] = addedAt[j++];
+                }
+            }
+            rankOf = new int[n];
+            for (int rank = 0; rank < n; rank++) {
+                rankOf[idAt[rank]] = rank;
+            }
+        }
+
+        public int size() {
+            return rankOf.length;
+        }
+
+        public int rank(int id) {
+            return rankOf[checkId(id)];
+        }
+
+        public int id(int rank) {
+            return idAt[rank];
+        }
+
+        // Same sign as string(a).compareTo(string(b))
+        public int compare(int a, int b) {
+            return Integer.compare(rankOf[checkId(a)], rankOf[checkId(b)]);
+        }
+
+        // Sorts IDs in String order: maps them to ranks, sorts the ints and maps them back
+        public void sort(int[] ids) {
+            for (int id : ids) {
+                checkId(id);
+            }
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = rankOf[ids[i]];
+            }
+            Arrays.sort(ids);
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = idAt[ids[i]];
+            }
+        }
+
+        private int checkId(int id) {
+            if (id < 0 || id >= rankOf.length) {
+                throw new IllegalArgumentException("ID " + id + " is not covered by these ranks (size "
+                    + rankOf.length + "); call ranks() again");
+            }
+            return id;
+        }
+    }
+}
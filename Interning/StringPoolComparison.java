@@ -0,0 +1,116 @@
+package Interning;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+/**
+ * Compares a String[] with an int[] of StringPool IDs holding the same N names, picked at
+ * random from a catalog of distinct song titles, as when songs are added to many playlists.
+ *
+ * Every name in the String[] is a separate String object, as it would be when read from a file
+ * or from the console. Equality counts the occurrences of one title (String.equals against an
+ * int compare); putting the names in alphabetical order uses Arrays.sort and a
+ * PriorityQueue<String> polled until empty (as PriorityQueueDemo does) against
+ * StringPool.Ranks.sort on the int[] of IDs.
+ * This is a rough manual comparison; timings depend on the machine and JVM flags.
+ * Pass N and the catalog size as arguments (the defaults are 2 million and 5000).
+ */
+public class StringPoolComparison {
+
+    private static final int ROUNDS = 5;
+
+    private interface Workload {
+        long run();
+    }
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        int catalogSize = args.length > 1 ? Integer.parseInt(args[1]) : 5_000;
+        Random random = new Random(42);
+
+        String[] catalog = new String[catalogSize];
+        for (int i = 0; i < catalogSize; i++) {
+            catalog[i] = "Song " + random.nextInt(1_000_000) + " - Artist " + (i % 300);
+        }
+        String[] names = new String[n];
+        for (int i = 0; i < n; i++) {
+            names[i] = new String(catalog[random.nextInt(catalogSize)]);
+        }
+
+        StringPool pool = new StringPool();
+        long start = System.nanoTime();
+        int[] ids = pool.internAll(names);
+        System.out.printf("Interned %d names into %d IDs in %d ms%n", n, pool.size(), (System.nanoTime() - start) / 1_000_000);
+
+        // Estimated heap: a reference per entry plus, per String, a 24-byte header and its bytes
+        long stringBytes = 4L * n;
+        for (String name : names) {
+            stringBytes += 24 + 16 + name.length();
+        }
+        System.out.printf("String[] with %d copies: ~%d KB, int[] of IDs: %d KB%n",
+            n, stringBytes / 1024, 4L * n / 1024);
+
+        String title = catalog[0];
+        report("String[] equals", () -> {
+            long count = 0;
+            for (String name : names) {
+                if (name.equals(title)) {
+                    count++;
+                }
+            }
+            return count;
+        });
+        report("int[] of IDs ==", () -> {
+            int id = pool.idOf(title);
+            long count = 0;
+            for (int value : ids) {
+                if (value == id) {
+                    count++;
+                }
+            }
+            return count;
+        });
+
+        report("Arrays.sort(String[])", () -> {
+            String[] copy = names.clone();
+            Arrays.sort(copy);
+            return copy[n / 2].length();
+        });
+        report("PriorityQueue<String>", () -> {
+            PriorityQueue<String> queue = new PriorityQueue<>(Arrays.asList(names));
+            long length = 0;
+            while (!queue.isEmpty()) {
+                length += queue.poll().length();
+            }
+            return length;
+        });
+        report("Ranks.sort(int[])", () -> {
+            int[] copy = ids.clone();
+            pool.ranks().sort(copy);
+            return pool.string(copy[n / 2]).length();
+        });
+
+        // Both sorts must produce the same sequence of names
+        String[] sortedNames = names.clone();
+        Arrays.sort(sortedNames);
+        int[] sortedIds = ids.clone();
+        pool.ranks().sort(sortedIds);
+        for (int i = 0; i < n; i++) {
+            if (!sortedNames[i].equals(pool.string(sortedIds[i]))) {
+                throw new AssertionError("Different order at " + i);
+            }
+        }
+    }
+
+    private static void report(String label, Workload workload) {
+        long best = Long.MAX_VALUE;
+        long result = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            result += workload.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        System.out.printf("%-24s %8.2f ms   (result %d)%n", label, best / 1e6, result);
+    }
+}
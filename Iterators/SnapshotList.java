@@ -0,0 +1,770 @@
+package Iterators;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * A thread-safe List whose iterators never throw ConcurrentModificationException.
+ *
+ * The elements are kept in a persistent (immutable) vector: a tree with 32 children per node
+ * and the last, partly filled leaf kept apart as the "tail". A write never changes a node that
+ * a reader may see; it copies the path from the root to the changed leaf (at most a few
+ * arrays of 32) and then publishes the new root with one volatile write. So:
+ * - iterator(), forEach() and snapshot() take the current root in O(1), and then see that
+ *   point-in-time version of the list however many writes happen meanwhile;
+ * - readers never lock and never wait for writers; writers only wait for each other;
+ * - add, set and removal of the last element cost O(log32 n), not a full copy of the array
+ *   like CopyOnWriteArrayList. Inserting or removing in the middle rebuilds the tree in O(n).
+ *
+ * All three iteration styles of IterationExamples work unchanged while other threads write.
+ * Like CopyOnWriteArrayList, the iterators do not support remove, add or set. Instead, sort,
+ * replaceAll, removeIf, removeAll and retainAll are done in one step under the write lock:
+ * they copy the current version to an array, change it and rebuild the tree in O(n), so
+ * List.sort and Collections.sort work and readers see either the old or the new list.
+ *
+ * For large lists there are faster ways to traverse than one next() per element:
+ * - spliterator() splits at leaf boundaries into halves with exact sizes, so parallel
+ *   streams get balanced work;
+ * - forEachChunk hands out the leaves themselves as array slices of up to 32 elements;
+ * - forEachParallel and forEachChunkParallel traverse on the common ForkJoinPool.
+ * See TraversalComparison for measurements.
+ */
+public class SnapshotList<E> extends AbstractList<E> implements RandomAccess {
+
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+    private static final Object[] EMPTY_NODE = new Object[WIDTH];
+    private static final Version EMPTY = new Version(0, BITS, EMPTY_NODE, new Object[0]);
+
+    // One immutable version of the list; nodes are shared between versions and never modified
+    private static final class Version {
+        final int size;
+        final int shift;
+        final Object[] root;
+        final Object[] tail;
+
+        Version(int size, int shift, Object[] root, Object[] tail) {
+            this.size = size;
+            this.shift = shift;
+            this.root = root;
+            this.tail = tail;
+        }
+
+        // Index of the first element in the tail
+        int tailOffset() {
+            return size < WIDTH ? 0 : ((size - 1) >>> BITS) << BITS;
+        }
+
+        // The leaf array holding element i
+        Object[] leafFor(int i) {
+            if (i >= tailOffset()) {
+                return tail;
+            }
+            Object[] node = root;
+            for (int level = shift; level > 0; level -= BITS) {
+                node = (Object[]) node[(i >>> level) & MASK];
+            }
+            return node;
+        }
+
+        Object get(int i) {
+            return leafFor(i)[i & MASK];
+        }
+
+        Version append(Object value) {
+            if (size - tailOffset() < WIDTH) {
+                Object[] newTail = new Object[tail.length + 1];
+                System.arraycopy(tail, 0, newTail, 0, tail.length);
+                newTail[tail.length] = value;
+                return new Version(size + 1, shift, root, newTail);
+            }
+            // The tail is full: push it into the tree and start a new one
+            Object[] newRoot;
+            int newShift = shift;
+            if ((size >>> BITS) > (1 << shift)) {
+                // The tree is full as well: add a level on top
+                newRoot = new Object[WIDTH];
+                newRoot[0] = root;
+                newRoot[1] = newPath(shift, tail);
+                newShift += BITS;
+            } else {
+                newRoot = pushTail(shift, root);
+            }
+            return new Version(size + 1, newShift, newRoot, new Object[] { value });
+        }
+
+        private Object[] pushTail(int level, Object[] parent) {
+            int child = ((size - 1) >>> level) & MASK;
+            Object[] copy = parent.clone();
+            if (level == BITS) {
+                copy[child] = tail;
+            } else {
+                Object[] next = (Object[]) parent[child];
+                copy[child] = next != null ? pushTail(level - BITS, next) : newPath(level - BITS, tail);
+            }
+            return copy;
+        }
+
+        private static Object[] newPath(int level, Object[] leaf) {
+            if (level == 0) {
+                return leaf;
+            }
+            Object[] node = new Object[WIDTH];
+            node[0] = newPath(level - BITS, leaf);
+            return node;
+        }
+
+        Version set(int i, Object value) {
+            if (i >= tailOffset()) {
+                Object[] newTail = tail.clone();
+                newTail[i & MASK] = value;
+                return new Version(size, shift, root, newTail);
+            }
+            return new Version(size, shift, setInTree(shift, root, i, value), tail);
+        }
+
+        private static Object[] setInTree(int level, Object[] node, int i, Object value) {
+            Object[] copy = node.clone();
+            if (level == 0) {
+                copy[i & MASK] = value;
+            } else {
+                int child = (i >>> level) & MASK;
+                copy[child] = setInTree(level - BITS, (Object[]) node[child], i, value);
+            }
+            return copy;
+        }
+
+        Version removeLast() {
+            if (size == 1) {
+                return EMPTY;
+            }
+            if (size - tailOffset() > 1) {
+                Object[] newTail = new Object[tail.length - 1];
+                System.arraycopy(tail, 0, newTail, 0, newTail.length);
+                return new Version(size - 1, shift, root, newTail);
+            }
+            // The tail becomes empty: the last leaf of the tree becomes the new tail
+            Object[] newTail = leafFor(size - 2);
+            Object[] newRoot = popTail(shift, root);
+            int newShift = shift;
+            if (newRoot == null) {
+                newRoot = EMPTY_NODE;
+            }
+            if (shift > BITS && newRoot[1] == null) {
+                newRoot = (Object[]) newRoot[0];
+                newShift -= BITS;
+            }
+            return new Version(size - 1, newShift, newRoot, newTail);
+        }
+
+        private Object[] popTail(int level, Object[] node) {
+            int child = ((size - 2) >>> level) & MASK;
+            if (level > BITS) {
+                Object[] newChild = popTail(level - BITS, (Object[]) node[child]);
+                if (newChild == null && child == 0) {
+                    return null;
+                }
+                Object[] copy = node.clone();
+                copy[child] = newChild;
+                return copy;
+            }
+            if (child == 0) {
+                return null;
+            }
+            Object[] copy = node.clone();
+            copy[child] = null;
+            return copy;
+        }
+
+        // Builds a version holding a[0, n) directly, without intermediate versions
+        static Version of(Object[] a, int n) {
+            if (n == 0) {
+                return EMPTY;
+            }
+            int tailOffset = n < WIDTH ? 0 : ((n - 1) >>> BITS) << BITS;
+            Object[] tail = new Object[n - tailOffset];
+            System.arraycopy(a, tailOffset, tail, 0, tail.length);
+
+            List<Object[]> nodes = new ArrayList<>();
+            for (int from = 0; from < tailOffset; from += WIDTH) {
+                Object[] leaf = new Object[WIDTH];
+                System.arraycopy(a, from, leaf, 0, WIDTH);
+                nodes.add(leaf);
+            }
+            int shift = BITS;
+            while (nodes.size() > WIDTH) {
+                List<Object[]> parents = new ArrayList<>();
+                for (int from = 0; from < nodes.size(); from += WIDTH) {
+                    Object[] parent = new Object[WIDTH];
+                    int count = Math.min(WIDTH, nodes.size() - from);
+                    for (int j = 0; j < count; j++) {
+                        parent[j] = nodes.get(from + j);
+                    }
+                    parents.add(parent);
+                }
+                nodes = parents;
+                shift += BITS;
+            }
+            Object[] root = new Object[WIDTH];
+            for (int j = 0; j < nodes.size(); j++) {
+                root[j] = nodes.get(j);
+            }
+            return new Version(n, shift, root, tail);
+        }
+
+        Object[] toArray() {
+            Object[] a = new Object[size];
+            int i = 0;
+            while (i < size) {
+                Object[] leaf = leafFor(i);
+                int count = Math.min(leaf.length, size - i);
+                System.arraycopy(leaf, 0, a, i, count);
+                i += count;
+            }
+            return a;
+        }
+    }
+
+    // Receives elements[from, to), a contiguous run of the list in order. The array is shared
+    // with the list and must not be modified or kept.
+    public interface ChunkConsumer {
+        void accept(Object[] elements, int from, int to);
+    }
+
+    // Ranges at most this long are traversed sequentially by forEachParallel
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 16 * 1024;
+
+    private volatile Version version = EMPTY;
+    private final Object writeLock = new Object();
+
+    public SnapshotList() {
+    }
+
+    public SnapshotList(Collection<? extends E> c) {
+        Object[] a = c.toArray();
+        version = Version.of(a, a.length);
+    }
+
+    // An immutable view of the list as it is now; O(1)
+    public List<E> snapshot() {
+        return new Snapshot<>(version);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        Version v = version;
+        checkIndex(index, v.size);
+        return (E) v.get(index);
+    }
+
+    @Override
+    public int size() {
+        return version.size;
+    }
+
+    @Override
+    public boolean add(E e) {
+        synchronized (writeLock) {
+            version = version.append(e);
+        }
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E set(int index, E element) {
+        synchronized (writeLock) {
+            Version v = version;
+            checkIndex(index, v.size);
+            E old = (E) v.get(index);
+            version = v.set(index, element);
+            return old;
+        }
+    }
+
+    // O(n) unless the index is size(): every later element moves one place
+    @Override
+    public void add(int index, E element) {
+        synchronized (writeLock) {
+            Version v = version;
+            if (index < 0 || index > v.size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + v.size);
+            }
+            if (index == v.size) {
+                version = v.append(element);
+                return;
+            }
+            Object[] a = v.toArray();
+            Object[] b = new Object[a.length + 1];
+            System.arraycopy(a, 0, b, 0, index);
+            b[index] = element;
+            System.arraycopy(a, index, b, index + 1, a.length - index);
+            version = Version.of(b, b.length);
+        }
+    }
+
+    // O(log32 n) for the last element, O(n) elsewhere
+    @Override
+    @SuppressWarnings("unchecked")
+    public E remove(int index) {
+        synchronized (writeLock) {
+            Version v = version;
+            checkIndex(index, v.size);
+            E old = (E) v.get(index);
+            if (index == v.size - 1) {
+                version = v.removeLast();
+            } else {
+                Object[] a = v.toArray();
+                System.arraycopy(a, index + 1, a, index, a.length - index - 1);
+                version = Version.of(a, a.length - 1);
+            }
+            return old;
+        }
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        synchronized (writeLock) {
+            int index = indexOf(o);
+            if (index < 0) {
+                return false;
+            }
+            remove(index);
+            return true;
+        }
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends E> c) {
+        Object[] added = c.toArray();
+        if (added.length == 0) {
+            return false;
+        }
+        synchronized (writeLock) {
+            Version v = version;
+            if (added.length < WIDTH) {
+                for (Object e : added) {
+                    v = v.append(e);
+                }
+                version = v;
+            } else {
+                // One rebuild is cheaper than many appends
+                Object[] a = v.toArray();
+                Object[] b = new Object[a.length + added.length];
+                System.arraycopy(a, 0, b, 0, a.length);
+                System.arraycopy(added, 0, b, a.length, added.length);
+                version = Version.of(b, b.length);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        synchronized (writeLock) {
+            version = EMPTY;
+        }
+    }
+
+    @Override
+    public Object[] toArray() {
+        return version.toArray();
+    }
+
+    // The bulk operations below cannot go through the snapshot iterators: each one copies the
+    // current version, changes the copy and publishes it as a new version
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void sort(Comparator<? super E> c) {
+        synchronized (writeLock) {
+            Version v = version;
+            Object[] a = v.toArray();
+            Arrays.sort((E[]) a, c);
+            version = Version.of(a, a.length);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void replaceAll(UnaryOperator<E> operator) {
+        Objects.requireNonNull(operator);
+        synchronized (writeLock) {
+            Version v = version;
+            Object[] a = v.toArray();
+            for (int i = 0; i < a.length; i++) {
+                a[i] = operator.apply((E) a[i]);
+            }
+            version = Version.of(a, a.length);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean removeIf(Predicate<? super E> filter) {
+        Objects.requireNonNull(filter);
+        synchronized (writeLock) {
+            Version v = version;
+            Object[] a = v.toArray();
+            int kept = 0;
+            for (Object e : a) {
+                if (!filter.test((E) e)) {
+                    a[kept++] = e;
+                }
+            }
+            if (kept == a.length) {
+                return false;
+            }
+            version = Version.of(a, kept);
+            return true;
+        }
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        Objects.requireNonNull(c);
+        return removeIf(c::contains);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        Objects.requireNonNull(c);
+        return removeIf(e -> !c.contains(e));
+    }
+
+    // Iterates the version current at the time of the call
+    @Override
+    public Iterator<E> iterator() {
+        return new SnapshotIterator<>(version, 0);
+    }
+
+    @Override
+    public ListIterator<E> listIterator(int index) {
+        return snapshot().listIterator(index);
+    }
+
+    @Override
+    public Spliterator<E> spliterator() {
+        Version v = version;
+        return new LeafSpliterator<>(v, 0, v.size);
+    }
+
+    // Passes the current version to 'action' one leaf at a time, in order
+    public void forEachChunk(ChunkConsumer action) {
+        forEachChunk(version, 0, version.size, action);
+    }
+
+    // Calls 'action' for every element of the current version, on the common ForkJoinPool.
+    // The action must be thread-safe; elements are not visited in order.
+    public void forEachParallel(Consumer<? super E> action) {
+        forEachParallel(action, DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    public void forEachParallel(Consumer<? super E> action, int threshold) {
+        forEachChunkParallel(new ChunkConsumer() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public void accept(Object[] elements, int from, int to) {
+                for (int i = from; i < to; i++) {
+                    action.accept((E) elements[i]);
+                }
+            }
+        }, threshold);
+    }
+
+    // Like forEachChunk, but chunks are passed from several threads at once
+    public void forEachChunkParallel(ChunkConsumer action) {
+        forEachChunkParallel(action, DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    public void forEachChunkParallel(ChunkConsumer action, int threshold) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("threshold must be positive: " + threshold);
+        }
+        Version v = version;
+        if (v.size <= threshold) {
+            forEachChunk(v, 0, v.size, action);
+            return;
+        }
+        ForkJoinPool.commonPool().invoke(new ChunkTask(v, 0, v.size, action, threshold));
+    }
+
+    private static void forEachChunk(Version v, int from, int to, ChunkConsumer action) {
+        int i = from;
+        while (i < to) {
+            Object[] leaf = v.leafFor(i);
+            int offset = i & MASK;
+            int count = Math.min(leaf.length - offset, to - i);
+            action.accept(leaf, offset, offset + count);
+            i += count;
+        }
+    }
+
+    // Splits [from, to) at leaf boundaries until a range is at most 'threshold' long.
+    // Tasks only live inside one forEachChunkParallel call and are never serialized.
+    @SuppressWarnings("serial")
+    private static final class ChunkTask extends RecursiveAction {
+        private final Version version;
+        private final int from;
+        private final int to;
+        private final ChunkConsumer action;
+        private final int threshold;
+
+        ChunkTask(Version version, int from, int to, ChunkConsumer action, int threshold) {
+            this.version = version;
+            this.from = from;
+            this.to = to;
+            this.action = action;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            int mid = splitPoint(from, to);
+            if (to - from <= threshold || mid <= from) {
+                forEachChunk(version, from, to, action);
+                return;
+            }
+            invokeAll(new ChunkTask(version, from, mid, action, threshold),
+                      new ChunkTask(version, mid, to, action, threshold));
+        }
+    }
+
+    // The middle of [from, to), rounded down to a leaf boundary; 'from' if there is none inside
+    private static int splitPoint(int from, int to) {
+        int mid = ((from + to) >>> 1) & ~MASK;
+        return mid > from ? mid : from;
+    }
+
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        forEach(version, action);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E> void forEach(Version v, Consumer<? super E> action) {
+        int i = 0;
+        while (i < v.size) {
+            Object[] leaf = v.leafFor(i);
+            int count = Math.min(leaf.length, v.size - i);
+            for (int j = 0; j < count; j++) {
+                action.accept((E) leaf[j]);
+            }
+            i += count;
+        }
+    }
+
+    private static void checkIndex(int index, int size) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    // Walks one version leaf by leaf, so next() is usually a single array read
+    private static final class SnapshotIterator<E> implements Iterator<E> {
+        private final Version version;
+        private final int size;
+        private int index;
+        private Object[] leaf = EMPTY.tail;
+        private int offset;
+
+        SnapshotIterator(Version version, int index) {
+            this.version = version;
+            this.size = version.size;
+            this.index = index;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < size;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E next() {
+            if (offset == leaf.length) {
+                if (index >= size) {
+                    throw new NoSuchElementException();
+                }
+                leaf = version.leafFor(index);
+                offset = index & MASK;
+            }
+            index++;
+            return (E) leaf[offset++];
+        }
+    }
+
+    // Splits into leaf-aligned halves with exact sizes, and walks leaf by leaf
+    private static final class LeafSpliterator<E> implements Spliterator<E> {
+        private final Version version;
+        private int index;
+        private final int end;
+        private Object[] leaf;
+
+        LeafSpliterator(Version version, int index, int end) {
+            this.version = version;
+            this.index = index;
+            this.end = end;
+        }
+
+        @Override
+        public Spliterator<E> trySplit() {
+            int mid = splitPoint(index, end);
+            if (mid <= index) {
+                return null;
+            }
+            Spliterator<E> prefix = new LeafSpliterator<>(version, index, mid);
+            index = mid;
+            leaf = null;
+            return prefix;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean tryAdvance(Consumer<? super E> action) {
+            if (index >= end) {
+                return false;
+            }
+            if ((index & MASK) == 0 || leaf == null) {
+                leaf = version.leafFor(index);
+            }
+            action.accept((E) leaf[index++ & MASK]);
+            return true;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void forEachRemaining(Consumer<? super E> action) {
+            int from = index;
+            index = end;
+            forEachChunk(version, from, end, (elements, lo, hi) -> {
+                for (int i = lo; i < hi; i++) {
+                    action.accept((E) elements[i]);
+                }
+            });
+        }
+
+        @Override
+        public long estimateSize() {
+            return end - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | IMMUTABLE;
+        }
+    }
+
+    // A fixed version of the list; all mutators throw UnsupportedOperationException
+    private static final class Snapshot<E> extends AbstractList<E> implements RandomAccess {
+        private final Version version;
+
+        Snapshot(Version version) {
+            this.version = version;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E get(int index) {
+            checkIndex(index, version.size);
+            return (E) version.get(index);
+        }
+
+        @Override
+        public int size() {
+            return version.size;
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            return new SnapshotIterator<>(version, 0);
+        }
+
+        @Override
+        public void forEach(Consumer<? super E> action) {
+            SnapshotList.forEach(version, action);
+        }
+
+        @Override
+        public Object[] toArray() {
+            return version.toArray();
+        }
+
+        @Override
+        public Spliterator<E> spliterator() {
+            return new LeafSpliterator<>(version, 0, version.size);
+        }
+    }
+
+    // The three iteration styles of IterationExamples, while another thread keeps writing
+    public static void main(String[] args) throws InterruptedException {
+        List<String> list = new SnapshotList<>();
+        list.add("people");
+        list.add("for");
+        list.add("people");
+
+        Thread writer = new Thread(() -> {
+            for (int i = 0; i < 200_000; i++) {
+                list.add("word" + i);
+                if (i % 3 == 0) {
+                    list.remove(list.size() - 1);
+                }
+            }
+        });
+        writer.start();
+
+        int rounds = 0;
+        int seen = 0;
+        try {
+            while (writer.isAlive()) {
+                // 1. Using Enhanced For Loop
+                for (String element : list) {
+                    seen += element.length() > 0 ? 1 : 0;
+                }
+
+                // 2. Using forEach() method
+                int[] count = new int[1];
+                list.forEach(element -> count[0]++);
+                seen += count[0];
+
+                // 3. Using Iterator
+                Iterator<String> iterator = list.iterator();
+                while (iterator.hasNext()) {
+                    iterator.next();
+                    seen++;
+                }
+                rounds++;
+            }
+        } catch (ConcurrentModificationException e) {
+            System.out.println("Unexpected: " + e);
+        }
+        writer.join();
+
+        System.out.println(rounds + " rounds of the three iteration styles during 200000 writes, "
+            + seen + " elements read, no ConcurrentModificationException");
+        System.out.println("Final size: " + list.size() + ", first three: " + list.subList(0, 3));
+
+        // A snapshot keeps its contents after later writes
+        List<String> before = ((SnapshotList<String>) list).snapshot();
+        list.clear();
+        System.out.println("Snapshot size after clear(): " + before.size() + ", list size: " + list.size());
+    }
+}
@@ -0,0 +1,115 @@
+package Iterators;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compares the three traversal styles of IterationExamples with the batched and parallel
+ * traversals of SnapshotList, on an ArrayList and a SnapshotList of N Integers.
+ *
+ * Every traversal sums the elements so the JIT cannot skip the work; the parallel ones add
+ * their partial sums to a LongAdder. The first rounds are warm-up and are not reported.
+ * This is a rough manual comparison; timings depend on the machine, the number of cores
+ * and JVM flags. Pass N as the first argument (the default is 10 million).
+ */
+public class TraversalComparison {
+
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+
+    private interface Workload {
+        long run();
+    }
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        List<Integer> arrayList = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            arrayList.add(i & 1023);
+        }
+        SnapshotList<Integer> snapshotList = new SnapshotList<>(arrayList);
+
+        System.out.println("Summing " + n + " Integers, best of " + MEASURED_ROUNDS + " rounds, "
+            + ForkJoinPool.commonPool().getParallelism() + " worker threads:");
+
+        report("ArrayList enhanced for", () -> enhancedFor(arrayList));
+        report("ArrayList forEach()", () -> forEach(arrayList));
+        report("ArrayList Iterator", () -> iterator(arrayList));
+        report("ArrayList parallelStream()", () -> arrayList.parallelStream().mapToLong(Integer::longValue).sum());
+
+        report("SnapshotList enhanced for", () -> enhancedFor(snapshotList));
+        report("SnapshotList forEach()", () -> forEach(snapshotList));
+        report("SnapshotList Iterator", () -> iterator(snapshotList));
+        report("SnapshotList forEachChunk", () -> {
+            long[] sum = new long[1];
+            snapshotList.forEachChunk((elements, from, to) -> {
+                long s = 0;
+                for (int i = from; i < to; i++) {
+                    s += (Integer) elements[i];
+                }
+                sum[0] += s;
+            });
+            return sum[0];
+        });
+        report("SnapshotList parallelStream()", () -> snapshotList.parallelStream().mapToLong(Integer::longValue).sum());
+        report("SnapshotList forEachParallel", () -> {
+            LongAdder sum = new LongAdder();
+            snapshotList.forEachParallel(sum::add);
+            return sum.sum();
+        });
+        report("SnapshotList forEachChunkParallel", () -> {
+            LongAdder sum = new LongAdder();
+            snapshotList.forEachChunkParallel((elements, from, to) -> {
+                long s = 0;
+                for (int i = from; i < to; i++) {
+                    s += (Integer) elements[i];
+                }
+                sum.add(s);
+            });
+            return sum.sum();
+        });
+    }
+
+    // 1. Using Enhanced For Loop
+    private static long enhancedFor(List<Integer> list) {
+        long sum = 0;
+        for (Integer element : list) {
+            sum += element;
+        }
+        return sum;
+    }
+
+    // 2. Using forEach() method
+    private static long forEach(List<Integer> list) {
+        long[] sum = new long[1];
+        list.forEach(element -> sum[0] += element);
+        return sum[0];
+    }
+
+    // 3. Using Iterator
+    private static long iterator(List<Integer> list) {
+        long sum = 0;
+        Iterator<Integer> iterator = list.iterator();
+        while (iterator.hasNext()) {
+            sum += iterator.next();
+        }
+        return sum;
+    }
+
+    private static void report(String name, Workload workload) {
+        long checksum = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            checksum += workload.run();
+        }
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            checksum += workload.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        System.out.printf("%-36s %8.2f ms  (checksum %d)%n", name, best / 1_000_000.0, checksum);
+    }
+}
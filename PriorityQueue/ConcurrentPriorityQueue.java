@@ -0,0 +1,327 @@
+package PriorityQueue;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A thread-safe priority queue for many producers and consumers, with two modes.
+ *
+ * PriorityBlockingQueue guards one heap with one global lock, so every thread waits on every
+ * other thread. This class offers two ways around that:
+ *
+ * - Mode.STRICT: a lock-free skip list (ConcurrentSkipListSet). poll() always returns the
+ *   least element, exactly like PriorityQueue, and inserts never take a lock.
+ * - Mode.RELAXED: a MultiQueue. Elements are spread over several small heaps (shards), each
+ *   with its own lock. offer() puts the element in a random shard whose lock is free; if it
+ *   finds none after trying as many shards as there are, it waits for one instead of spinning.
+ *   poll() looks at the heads of two random shards (without locking) and takes the better
+ *   one. The result is not always the global minimum, but it is close to it, and threads
+ *   almost never contend for the same lock, so throughput keeps growing with the cores.
+ *
+ * In both modes poll() returns null only if the queue was empty when it checked.
+ * size() and the iterator are weakly consistent; the iterator visits a snapshot in no
+ * particular order, like PriorityQueue.iterator(), and its remove() calls remove(Object).
+ * In STRICT mode size() is O(n): ConcurrentSkipListSet counts its entries on every call.
+ * remove(Object) is O(n) in both modes, like PriorityBlockingQueue's.
+ */
+public class ConcurrentPriorityQueue<E> extends AbstractQueue<E> {
+
+    public enum Mode { STRICT, RELAXED }
+
+    // Skip list entry: the sequence number keeps equal elements apart, since a set has no duplicates
+    private static final class Entry<E> {
+        final E element;
+        final long sequence;
+
+        Entry(E element, long sequence) {
+            this.element = element;
+            this.sequence = sequence;
+        }
+    }
+
+    // One heap of the MultiQueue; 'top' lets other threads peek at its head without the lock
+    private static final class Shard<E> {
+        final ReentrantLock lock = new ReentrantLock();
+        final PriorityQueue<E> heap;
+        volatile E top;
+
+        Shard(Comparator<? super E> comparator) {
+            heap = new PriorityQueue<>(comparator);
+        }
+    }
+
+    private final Mode mode;
+    private final Comparator<? super E> comparator;
+
+    // STRICT mode
+    private final ConcurrentSkipListSet<Entry<E>> skipList;
+    private final AtomicLong sequence = new AtomicLong();
+
+    // RELAXED mode
+    private final Shard<E>[] shards;
+    private final LongAdder size = new LongAdder();
+
+    // A strict queue in natural ordering
+    public ConcurrentPriorityQueue() {
+        this(Mode.STRICT, null);
+    }
+
+    // A null comparator means natural ordering; relaxed mode uses 4 shards per core
+    public ConcurrentPriorityQueue(Mode mode, Comparator<? super E> comparator) {
+        this(mode, comparator, 4 * Runtime.getRuntime().availableProcessors());
+    }
+
+    // shardCount is only used in RELAXED mode, where two-choice polling needs at least 2
+    @SuppressWarnings("unchecked")
+    public ConcurrentPriorityQueue(Mode mode, Comparator<? super E> comparator, int shardCount) {
+        if (mode == Mode.RELAXED && shardCount < 2) {
+            throw new IllegalArgumentException("shardCount must be at least 2: " + shardCount);
+        }
+        this.mode = mode;
+        this.comparator = comparator;
+        if (mode == Mode.STRICT) {
+            skipList = new ConcurrentSkipListSet<>((a, b) -> {
+                int c = compare(a.element, b.element);
+                return c != 0 ? c : Long.compare(a.sequence, b.sequence);
+            });
+            shards = null;
+        } else {
+            skipList = null;
+            shards = (Shard<E>[]) new Shard<?>[shardCount];
+            for (int i = 0; i < shardCount; i++) {
+                shards[i] = new Shard<>(comparator);
+            }
+        }
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    @Override
+    public boolean offer(E e) {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+        if (mode == Mode.STRICT) {
+            return skipList.add(new Entry<>(e, sequence.getAndIncrement()));
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Shard<E> shard = null;
+        for (int attempt = 0; attempt < shards.length; attempt++) {
+            Shard<E> candidate = shards[random.nextInt(shards.length)];
+            if (candidate.lock.tryLock()) {
+                shard = candidate;
+                break;
+            }
+            Thread.onSpinWait();
+        }
+        if (shard == null) {
+            // Every shard tried was busy: wait for one rather than keep spinning
+            shard = shards[random.nextInt(shards.length)];
+            shard.lock.lock();
+        }
+        try {
+            shard.heap.offer(e);
+            shard.top = shard.heap.peek();
+        } finally {
+            shard.lock.unlock();
+        }
+        size.increment();
+        return true;
+    }
+
+    @Override
+    public E poll() {
+        if (mode == Mode.STRICT) {
+            Entry<E> first = skipList.pollFirst();
+            return first == null ? null : first.element;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        // Two-choice polling: compare two random heads and take the better one
+        for (int attempt = 0; attempt < shards.length; attempt++) {
+            Shard<E> a = shards[random.nextInt(shards.length)];
+            Shard<E> b = shards[random.nextInt(shards.length)];
+            E topA = a.top;
+            E topB = b.top;
+            Shard<E> best;
+            if (topA == null) {
+                best = b;
+            } else if (topB == null) {
+                best = a;
+            } else {
+                best = compare(topA, topB) <= 0 ? a : b;
+            }
+            if (best.top == null) {
+                if (size.sum() == 0) {
+                    break;
+                }
+                continue;
+            }
+            if (best.lock.tryLock()) {
+                try {
+                    E polled = pollShard(best);
+                    if (polled != null) {
+                        return polled;
+                    }
+                } finally {
+                    best.lock.unlock();
+                }
+            }
+        }
+        // Slow path: sweep every shard so that null really means "was empty"
+        for (Shard<E> shard : shards) {
+            if (shard.top != null) {
+                shard.lock.lock();
+                try {
+                    E polled = pollShard(shard);
+                    if (polled != null) {
+                        return polled;
+                    }
+                } finally {
+                    shard.lock.unlock();
+                }
+            }
+        }
+        return null;
+    }
+
+    // Must hold the shard's lock
+    private E pollShard(Shard<E> shard) {
+        E polled = shard.heap.poll();
+        shard.top = shard.heap.peek();
+        if (polled != null) {
+            size.decrement();
+        }
+        return polled;
+    }
+
+    // The least element; in RELAXED mode it scans the heads of all shards without locking
+    @Override
+    public E peek() {
+        if (mode == Mode.STRICT) {
+            Entry<E> first = firstOrNull();
+            return first == null ? null : first.element;
+        }
+        E best = null;
+        for (Shard<E> shard : shards) {
+            E top = shard.top;
+            if (top != null && (best == null || compare(top, best) < 0)) {
+                best = top;
+            }
+        }
+        return best;
+    }
+
+    private Entry<E> firstOrNull() {
+        try {
+            return skipList.first();
+        } catch (NoSuchElementException e) {
+            return null;
+        }
+    }
+
+    // Removes one element equal to 'o'. In RELAXED mode the shards are locked one at a time.
+    @Override
+    public boolean remove(Object o) {
+        if (o == null) {
+            return false;
+        }
+        if (mode == Mode.STRICT) {
+            for (Entry<E> entry : skipList) {
+                // remove(entry) fails if another thread polled or removed it first; keep looking
+                if (o.equals(entry.element) && skipList.remove(entry)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        for (Shard<E> shard : shards) {
+            shard.lock.lock();
+            try {
+                if (shard.heap.remove(o)) {
+                    shard.top = shard.heap.peek();
+                    size.decrement();
+                    return true;
+                }
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+        return false;
+    }
+
+    // O(n) in STRICT mode, see the class comment
+    @Override
+    public int size() {
+        if (mode == Mode.STRICT) {
+            return skipList.size();
+        }
+        return (int) Math.max(0, Math.min(Integer.MAX_VALUE, size.sum()));
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return mode == Mode.STRICT ? skipList.isEmpty() : size.sum() == 0;
+    }
+
+    // Iterates a snapshot of the elements, in no particular order
+    @Override
+    public Iterator<E> iterator() {
+        List<E> snapshot = new ArrayList<>();
+        if (mode == Mode.STRICT) {
+            for (Entry<E> entry : skipList) {
+                snapshot.add(entry.element);
+            }
+        } else {
+            for (Shard<E> shard : shards) {
+                shard.lock.lock();
+                try {
+                    snapshot.addAll(shard.heap);
+                } finally {
+                    shard.lock.unlock();
+                }
+            }
+        }
+        Iterator<E> elements = snapshot.iterator();
+        return new Iterator<E>() {
+            private E lastReturned;
+
+            @Override
+            public boolean hasNext() {
+                return elements.hasNext();
+            }
+
+            @Override
+            public E next() {
+                lastReturned = elements.next();
+                return lastReturned;
+            }
+
+            // Removes one element equal to the last one returned, if it is still queued
+            @Override
+            public void remove() {
+                if (lastReturned == null) {
+                    throw new IllegalStateException();
+                }
+                ConcurrentPriorityQueue.this.remove(lastReturned);
+                lastReturned = null;
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private int compare(E a, E b) {
+        return comparator == null ? ((Comparable<? super E>) a).compareTo(b) : comparator.compare(a, b);
+    }
+}
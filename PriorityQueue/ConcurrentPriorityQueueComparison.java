@@ -0,0 +1,73 @@
+package PriorityQueue;
+
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Throughput of PriorityBlockingQueue vs ConcurrentPriorityQueue (strict and relaxed)
+ * at rising thread counts.
+ *
+ * The queue is pre-filled with PREFILL jobs. Every thread then offers a job with a random
+ * priority and polls one back, OPERATIONS times. The table shows the total number of
+ * offer/poll pairs per millisecond. The test also checks that no job was lost.
+ */
+public class ConcurrentPriorityQueueComparison {
+
+    private static final int PREFILL = 10_000;
+    private static final int OPERATIONS = 200_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        int maxThreads = Math.max(32, Runtime.getRuntime().availableProcessors());
+        System.out.printf("%-8s %24s %24s %24s%n", "threads",
+            "PriorityBlockingQueue", "ConcurrentPQ strict", "ConcurrentPQ relaxed");
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            double blocking = run(threads, PriorityBlockingQueue::new);
+            double strict = run(threads, () -> new ConcurrentPriorityQueue<>(ConcurrentPriorityQueue.Mode.STRICT, null));
+            double relaxed = run(threads, () -> new ConcurrentPriorityQueue<>(ConcurrentPriorityQueue.Mode.RELAXED, null));
+            System.out.printf("%-8d %24.0f %24.0f %24.0f%n", threads, blocking, strict, relaxed);
+        }
+    }
+
+    private static double run(int threads, Supplier<Queue<Integer>> factory) throws InterruptedException {
+        Queue<Integer> queue = factory.get();
+        for (int i = 0; i < PREFILL; i++) {
+            queue.offer(i);
+        }
+
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        LongAdder missing = new LongAdder();
+        for (int t = 0; t < threads; t++) {
+            new Thread(() -> {
+                try {
+                    start.await();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < OPERATIONS; i++) {
+                        queue.offer(random.nextInt(1_000_000));
+                        if (queue.poll() == null) {
+                            missing.increment();
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            }).start();
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        done.await();
+        double millis = (System.nanoTime() - begin) / 1_000_000.0;
+
+        if (missing.sum() != 0 || queue.size() != PREFILL) {
+            throw new IllegalStateException("Lost jobs: " + missing.sum() + ", size " + queue.size());
+        }
+        return threads * (double) OPERATIONS / millis;
+    }
+}
@@ -0,0 +1,385 @@
+package PriorityQueue;
+
+import java.util.AbstractQueue;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * A binary-heap priority queue that can change the priority of, or remove, any element
+ * in O(log n).
+ *
+ * java.util.PriorityQueue has an O(n) remove(Object) and no way to re-prioritize an element,
+ * so schedulers remove and re-add entries with a linear scan each time. Here every element
+ * lives in a Handle that always knows its current position in the heap array, and a hash
+ * index maps elements to their handles (handles with equal elements are linked to each other,
+ * so many equal priorities do not slow anything down):
+ * - insert(e) returns the Handle; offer/add work as usual for code that only needs Queue.
+ * - update(handle, e) replaces the element and sifts it up or down: O(log n).
+ *   decreaseKey / increaseKey are the same operation for a known direction.
+ * - remove(handle) and remove(Object): O(log n). contains(handle) and contains(Object): O(1).
+ *
+ * Ordering follows PriorityQueue: the head is the least element by natural ordering or by
+ * the Comparator. Duplicates are allowed. The iterator visits elements in heap order, not
+ * sorted order; its remove() is O(log n), so removeIf / removeAll / retainAll work.
+ * Not thread-safe.
+ */
+public class IndexedPriorityQueue<E> extends AbstractQueue<E> {
+
+    // A reference to one element in the queue; stays valid while the element is queued
+    public static final class Handle<E> {
+        private E element;
+        private int index;
+        private IndexedPriorityQueue<E> owner;
+        // Other handles with an equal element, as an intrusive doubly linked list
+        private Handle<E> prevSame, nextSame;
+
+        private Handle(E element, IndexedPriorityQueue<E> owner) {
+            this.element = element;
+            this.owner = owner;
+        }
+
+        public E getElement() {
+            return element;
+        }
+    }
+
+    private static final int DEFAULT_CAPACITY = 11;
+
+    private final Comparator<? super E> comparator;
+    // First handle of every distinct element; the others are linked from it
+    private final Map<E, Handle<E>> index = new HashMap<>();
+    private Handle<E>[] heap;
+    private int size;
+    private int modCount;
+
+    public IndexedPriorityQueue() {
+        this(null);
+    }
+
+    // A null comparator means natural ordering, as with PriorityQueue
+    @SuppressWarnings("unchecked")
+    public IndexedPriorityQueue(Comparator<? super E> comparator) {
+        this.comparator = comparator;
+        this.heap = (Handle<E>[]) new Handle<?>[DEFAULT_CAPACITY];
+    }
+
+    // Inserts an element and returns its handle: O(log n)
+    public Handle<E> insert(E e) {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, heap.length + (heap.length < 64 ? heap.length + 2 : heap.length >> 1));
+        }
+        Handle<E> handle = new Handle<>(e, this);
+        indexHandle(handle);
+        modCount++;
+        siftUp(size++, handle);
+        return handle;
+    }
+
+    @Override
+    public boolean offer(E e) {
+        insert(e);
+        return true;
+    }
+
+    @Override
+    public E peek() {
+        return size == 0 ? null : heap[0].element;
+    }
+
+    @Override
+    public E poll() {
+        if (size == 0) {
+            return null;
+        }
+        Handle<E> head = heap[0];
+        removeAt(0);
+        return head.element;
+    }
+
+    // True if the handle belongs to an element still in this queue: O(1)
+    public boolean contains(Handle<E> handle) {
+        return handle.owner == this;
+    }
+
+    // O(1) expected, through the hash index
+    @Override
+    public boolean contains(Object o) {
+        return index.containsKey(o);
+    }
+
+    // Removes the element behind the handle: O(log n)
+    public boolean remove(Handle<E> handle) {
+        if (handle.owner != this) {
+            return false;
+        }
+        removeAt(handle.index);
+        return true;
+    }
+
+    // Removes one occurrence of the element: O(log n) instead of PriorityQueue's O(n)
+    @Override
+    public boolean remove(Object o) {
+        Handle<E> handle = index.get(o);
+        if (handle == null) {
+            return false;
+        }
+        removeAt(handle.index);
+        return true;
+    }
+
+    // Replaces the element behind the handle, moving it up or down as needed: O(log n)
+    public void update(Handle<E> handle, E e) {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+        checkOwner(handle);
+        unindexHandle(handle);
+        E old = handle.element;
+        handle.element = e;
+        indexHandle(handle);
+        modCount++;
+        if (compare(e, old) < 0) {
+            siftUp(handle.index, handle);
+        } else {
+            siftDown(handle.index, handle);
+        }
+    }
+
+    // Gives the element a higher priority (moves it towards the head)
+    public void decreaseKey(Handle<E> handle, E e) {
+        checkOwner(handle);
+        if (compare(e, handle.element) > 0) {
+            throw new IllegalArgumentException("New element is ordered after the current one");
+        }
+        update(handle, e);
+    }
+
+    // Gives the element a lower priority (moves it away from the head)
+    public void increaseKey(Handle<E> handle, E e) {
+        checkOwner(handle);
+        if (compare(e, handle.element) < 0) {
+            throw new IllegalArgumentException("New element is ordered before the current one");
+        }
+        update(handle, e);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            heap[i].owner = null;
+            heap[i].prevSame = null;
+            heap[i].nextSame = null;
+            heap[i] = null;
+        }
+        index.clear();
+        size = 0;
+        modCount++;
+    }
+
+    public Comparator<? super E> comparator() {
+        return comparator;
+    }
+
+    // Heap order, like PriorityQueue.iterator(). remove() works like PriorityQueue's: when
+    // the last element moved into the removed slot sifts up past the cursor, it is kept
+    // aside and returned at the end so that no element is skipped.
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+            private int cursor;
+            private int expectedModCount = modCount;
+            private Handle<E> lastReturned;
+            // True if lastReturned came from forgetMeNot rather than from the heap scan
+            private boolean lastFromForgetMeNot;
+            private ArrayDeque<Handle<E>> forgetMeNot;
+
+            @Override
+            public boolean hasNext() {
+                return cursor < size || (forgetMeNot != null && !forgetMeNot.isEmpty());
+            }
+
+            @Override
+            public E next() {
+                if (expectedModCount != modCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (cursor < size) {
+                    lastReturned = heap[cursor++];
+                    lastFromForgetMeNot = false;
+                } else if (forgetMeNot != null && !forgetMeNot.isEmpty()) {
+                    lastReturned = forgetMeNot.poll();
+                    lastFromForgetMeNot = true;
+                } else {
+                    throw new NoSuchElementException();
+                }
+                return lastReturned.element;
+            }
+
+            @Override
+            public void remove() {
+                if (expectedModCount != modCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (lastReturned == null || lastReturned.owner != IndexedPriorityQueue.this) {
+                    throw new IllegalStateException();
+                }
+                if (lastFromForgetMeNot) {
+                    // The heap scan is over, so moving elements around cannot make it skip
+                    // or revisit anything; the cursor and forgetMeNot stay as they are
+                    removeAt(lastReturned.index);
+                    lastReturned = null;
+                    expectedModCount = modCount;
+                    return;
+                }
+                int i = lastReturned.index;
+                Handle<E> movedUp = removeAt(i);
+                if (i < cursor) {
+                    if (movedUp == null) {
+                        cursor--; // the slot now holds an element not visited yet
+                    } else {
+                        if (forgetMeNot == null) {
+                            forgetMeNot = new ArrayDeque<>();
+                        }
+                        forgetMeNot.add(movedUp);
+                    }
+                }
+                lastReturned = null;
+                expectedModCount = modCount;
+            }
+        };
+    }
+
+    // Removes the handle at index i. Returns the last handle if it was moved into slot i
+    // and then sifted up to a smaller index, null otherwise (used by the iterator).
+    private Handle<E> removeAt(int i) {
+        Handle<E> removed = heap[i];
+        unindexHandle(removed);
+        removed.owner = null;
+        modCount++;
+        int last = --size;
+        Handle<E> moved = heap[last];
+        heap[last] = null;
+        if (i != last) {
+            siftDown(i, moved);
+            if (heap[i] == moved) {
+                siftUp(i, moved);
+                if (heap[i] != moved) {
+                    return moved;
+                }
+            }
+        }
+        return null;
+    }
+
+    private void siftUp(int k, Handle<E> handle) {
+        while (k > 0) {
+            int parent = (k - 1) >>> 1;
+            Handle<E> p = heap[parent];
+            if (compare(handle.element, p.element) >= 0) {
+                break;
+            }
+            place(k, p);
+            k = parent;
+        }
+        place(k, handle);
+    }
+
+    private void siftDown(int k, Handle<E> handle) {
+        int half = size >>> 1;
+        while (k < half) {
+            int child = 2 * k + 1;
+            Handle<E> c = heap[child];
+            int right = child + 1;
+            if (right < size && compare(heap[right].element, c.element) < 0) {
+                child = right;
+                c = heap[child];
+            }
+            if (compare(handle.element, c.element) <= 0) {
+                break;
+            }
+            place(k, c);
+            k = child;
+        }
+        place(k, handle);
+    }
+
+    // Every move of a handle in the array also updates the position it remembers
+    private void place(int k, Handle<E> handle) {
+        heap[k] = handle;
+        handle.index = k;
+    }
+
+    @SuppressWarnings("unchecked")
+    private int compare(E a, E b) {
+        return comparator == null ? ((Comparable<? super E>) a).compareTo(b) : comparator.compare(a, b);
+    }
+
+    // Links the handle in front of the others with an equal element: O(1)
+    private void indexHandle(Handle<E> handle) {
+        Handle<E> first = index.put(handle.element, handle);
+        handle.prevSame = null;
+        handle.nextSame = first;
+        if (first != null) {
+            first.prevSame = handle;
+        }
+    }
+
+    // Unlinks the handle from the others with an equal element: O(1), however many there are
+    private void unindexHandle(Handle<E> handle) {
+        Handle<E> prev = handle.prevSame;
+        Handle<E> next = handle.nextSame;
+        if (prev != null) {
+            prev.nextSame = next;
+        } else if (next != null) {
+            index.put(handle.element, next);
+        } else {
+            index.remove(handle.element);
+        }
+        if (next != null) {
+            next.prevSame = prev;
+        }
+        handle.prevSame = null;
+        handle.nextSame = null;
+    }
+
+    private void checkOwner(Handle<E> handle) {
+        if (handle.owner != this) {
+            throw new IllegalArgumentException("Handle is not in this queue");
+        }
+    }
+
+    // Demo: re-prioritize states without removing and re-adding them
+    public static void main(String[] args) {
+        IndexedPriorityQueue<String> pq = new IndexedPriorityQueue<>();
+        pq.add("Texas");
+        pq.add("Hawaii");
+        Handle<String> montana = pq.insert("Montana");
+        pq.add("California");
+        Handle<String> arizona = pq.insert("Arizona");
+
+        System.out.println("Head: " + pq.peek());                 // Arizona
+        pq.increaseKey(arizona, "Utah");                          // Arizona moves to the back as "Utah"
+        pq.decreaseKey(montana, "Alabama");                       // Montana becomes the new head as "Alabama"
+        pq.remove("Hawaii");                                      // O(log n) remove by value
+        System.out.println("Contains Hawaii? " + pq.contains("Hawaii"));
+
+        System.out.println("States in alphabetical order:");
+        while (!pq.isEmpty()) {
+            System.out.println(pq.poll());                        // Alabama, California, Texas, Utah
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package PriorityQueue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collector;
+
+/**
+ * Keeps the first K elements of a stream in priority order, using O(K) memory.
+ *
+ * PriorityQueueDemo adds every item to an unbounded PriorityQueue and polls them all, so the
+ * heap grows with the input. TopK instead keeps a fixed-size array heap of the K best
+ * elements seen so far. "Best" means first in the given ordering, like the head of a
+ * PriorityQueue with the same Comparator (alphabetical for Strings by default).
+ *
+ * The heap is ordered worst-first, so its root is the element that would be dropped next:
+ * - a candidate that is not better than the root is rejected in O(1) with one comparison,
+ * - a better candidate replaces the root and sifts down in O(log K).
+ *
+ * Use collector(k, comparator) with streams; on a parallel stream every thread fills its
+ * own TopK and the partial results are merged, so memory stays O(K) per thread.
+ *
+ * Not thread-safe: use one instance per thread and merge them.
+ */
+public class TopK<E> {
+
+    private final int k;
+    private final Comparator<? super E> comparator;
+    private final Object[] heap;
+    private int size;
+
+    // Keeps the k smallest elements in natural order
+    @SuppressWarnings("unchecked")
+    public TopK(int k) {
+        this(k, (Comparator<? super E>) Comparator.naturalOrder());
+    }
+
+    // Keeps the k elements that come first according to the comparator
+    public TopK(int k, Comparator<? super E> comparator) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("k must be positive: " + k);
+        }
+        this.k = k;
+        this.comparator = comparator;
+        this.heap = new Object[k];
+    }
+
+    // Offers a candidate; returns true if it is now one of the top K
+    public boolean offer(E e) {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+        if (size < k) {
+            siftUp(size++, e);
+            return true;
+        }
+        // O(1) rejection: not better than the current worst of the top K
+        if (comparator.compare(e, worst()) >= 0) {
+            return false;
+        }
+        siftDown(0, e);
+        return true;
+    }
+
+    // Offers every element of another TopK (used to merge per-thread results)
+    public TopK<E> merge(TopK<E> other) {
+        for (int i = 0; i < other.size; i++) {
+            offer(other.elementAt(i));
+        }
+        return this;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return k;
+    }
+
+    // The element that would be dropped next, or null if empty
+    public E peekWorst() {
+        return size == 0 ? null : worst();
+    }
+
+    // The kept elements, best first
+    public List<E> toSortedList() {
+        List<E> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(elementAt(i));
+        }
+        result.sort(comparator);
+        return result;
+    }
+
+    // A stream Collector returning the top k elements in natural order, best first
+    public static <T extends Comparable<? super T>> Collector<T, ?, List<T>> collector(int k) {
+        return collector(k, Comparator.naturalOrder());
+    }
+
+    // A stream Collector returning the k first elements according to the comparator, best first
+    public static <T> Collector<T, ?, List<T>> collector(int k, Comparator<? super T> comparator) {
+        return Collector.of(
+            () -> new TopK<T>(k, comparator),
+            TopK::offer,
+            TopK::merge,
+            TopK::toSortedList);
+    }
+
+    private E worst() {
+        return elementAt(0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private E elementAt(int i) {
+        return (E) heap[i];
+    }
+
+    // Max-heap by 'comparator': a parent is never better than its children
+    private void siftUp(int index, E e) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            E p = elementAt(parent);
+            if (comparator.compare(e, p) <= 0) {
+                break;
+            }
+            heap[index] = p;
+            index = parent;
+        }
+        heap[index] = e;
+    }
+
+    private void siftDown(int index, E e) {
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            E c = elementAt(child);
+            int right = child + 1;
+            if (right < size && comparator.compare(elementAt(right), c) > 0) {
+                child = right;
+                c = elementAt(child);
+            }
+            if (comparator.compare(e, c) >= 0) {
+                break;
+            }
+            heap[index] = c;
+            index = child;
+        }
+        heap[index] = e;
+    }
+
+    @Override
+    public String toString() {
+        return toSortedList().toString();
+    }
+
+    // Demo: the 5 alphabetically first states out of a stream of millions of random picks
+    public static void main(String[] args) {
+        String[] states = {
+            "Alabama", "Alaska", "Arizona", "Arkansas", "California", "Colorado", "Connecticut", "Delaware",
+            "Florida", "Georgia", "Hawaii", "Idaho", "Illinois", "Indiana", "Iowa", "Kansas", "Kentucky",
+            "Louisiana", "Maine", "Maryland", "Massachusetts", "Michigan", "Minnesota", "Mississippi",
+            "Missouri", "Montana", "Nebraska", "Nevada", "New Hampshire", "New Jersey", "New Mexico",
+            "New York", "North Carolina", "North Dakota", "Ohio", "Oklahoma", "Oregon", "Pennsylvania",
+            "Rhode Island", "South Carolina", "South Dakota", "Tennessee", "Texas", "Utah", "Vermont",
+            "Virginia", "Washington", "West Virginia", "Wisconsin", "Wyoming"
+        };
+
+        // Distinct, so each state appears at most once among the top 5
+        String[] distinct = Arrays.copyOf(states, states.length);
+        Collections.shuffle(Arrays.asList(distinct), new Random());
+        TopK<String> firstFive = new TopK<>(5);
+        for (String state : distinct) {
+            firstFive.offer(state);
+        }
+        System.out.println("First 5 states in alphabetical order: " + firstFive);
+
+        // 10 million random picks, streamed in parallel without being stored; each thread
+        // keeps only 5 elements
+        Random random = new Random();
+        List<String> lastFive = random.ints(10_000_000, 0, states.length).parallel()
+            .mapToObj(i -> states[i])
+            .collect(TopK.collector(5, Comparator.<String>reverseOrder()));
+        System.out.println("Last 5 picks in alphabetical order (reversed): " + lastFive);
+    }
+}
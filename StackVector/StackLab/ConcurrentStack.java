@@ -0,0 +1,190 @@
+package StackVector.StackLab;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free, thread-safe LIFO stack: a Treiber stack with an elimination-backoff array.
+ *
+ * java.util.Stack makes every thread wait on a single monitor lock, and ArrayDeque is not
+ * thread-safe at all. Here the top of the stack is an AtomicReference that push and pop
+ * update with compareAndSet, so no thread ever blocks. When a CAS fails because of
+ * contention, the thread tries the elimination array instead: a push and a pop that meet
+ * in the same slot cancel each other out without touching the top at all, which lets
+ * throughput keep growing with the number of threads.
+ *
+ * It implements LifoStack rather than Deque: a lock-free stack has no tail to add to or
+ * remove from, so Lab takes it through its LifoStack overloads.
+ *
+ * size() reads a LongAdder updated after every push and pop, so it is O(1) but approximate
+ * while other threads are pushing or popping; it is exact once they are done. The iterator
+ * is weakly consistent: it walks the stack as it is while it runs.
+ */
+public class ConcurrentStack<E> implements LifoStack<E> {
+
+    private static final class Node<E> {
+        final E item;
+        Node<E> next;
+
+        Node(E item) {
+            this.item = item;
+        }
+    }
+
+    // Placed in an elimination slot by a pop that took the push waiting there
+    private static final Node<Object> TAKEN = new Node<>(null);
+
+    // How many times a push waits in a slot for a matching pop
+    private static final int ELIMINATION_SPINS = 64;
+
+    private final AtomicReference<Node<E>> top = new AtomicReference<>();
+    private final LongAdder count = new LongAdder();
+    private final AtomicReferenceArray<Node<?>> eliminationSlots;
+
+    public ConcurrentStack() {
+        this(Math.max(2, Runtime.getRuntime().availableProcessors() / 2));
+    }
+
+    // Creates a stack with the given number of elimination slots
+    public ConcurrentStack(int eliminationWidth) {
+        if (eliminationWidth <= 0) {
+            throw new IllegalArgumentException("eliminationWidth must be positive: " + eliminationWidth);
+        }
+        eliminationSlots = new AtomicReferenceArray<>(eliminationWidth);
+    }
+
+    // Pushes an element onto the top of the stack
+    @Override
+    public void push(E e) {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+        Node<E> node = new Node<>(e);
+        while (true) {
+            Node<E> current = top.get();
+            node.next = current;
+            if (top.compareAndSet(current, node) || eliminatePush(node)) {
+                count.increment();
+                return;
+            }
+        }
+    }
+
+    // Removes and returns the top element, or null if the stack is empty
+    @Override
+    public E poll() {
+        while (true) {
+            Node<E> current = top.get();
+            if (current == null) {
+                return null;
+            }
+            if (top.compareAndSet(current, current.next)) {
+                count.decrement();
+                return current.item;
+            }
+            Node<E> eliminated = eliminatePop();
+            if (eliminated != null) {
+                count.decrement();
+                return eliminated.item;
+            }
+        }
+    }
+
+    // Returns the top element without removing it, or null if the stack is empty
+    @Override
+    public E peek() {
+        Node<E> current = top.get();
+        return current == null ? null : current.item;
+    }
+
+    // Offers the node in a random slot and waits briefly for a pop to take it
+    private boolean eliminatePush(Node<E> node) {
+        int slot = ThreadLocalRandom.current().nextInt(eliminationSlots.length());
+        if (!eliminationSlots.compareAndSet(slot, null, node)) {
+            return false;
+        }
+        for (int i = 0; i < ELIMINATION_SPINS; i++) {
+            if (eliminationSlots.get(slot) == TAKEN) {
+                eliminationSlots.set(slot, null);
+                return true;
+            }
+            Thread.onSpinWait();
+        }
+        if (eliminationSlots.compareAndSet(slot, node, null)) {
+            return false; // nobody came, go back to the top of the stack
+        }
+        eliminationSlots.set(slot, null); // a pop took it just now
+        return true;
+    }
+
+    // Takes a waiting push from a random slot, if there is one
+    @SuppressWarnings("unchecked")
+    private Node<E> eliminatePop() {
+        int slot = ThreadLocalRandom.current().nextInt(eliminationSlots.length());
+        Node<?> offered = eliminationSlots.get(slot);
+        if (offered != null && offered != TAKEN && eliminationSlots.compareAndSet(slot, offered, TAKEN)) {
+            return (Node<E>) offered;
+        }
+        return null;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return top.get() == null;
+    }
+
+    // O(1), approximate while other threads push or pop (see the class comment)
+    @Override
+    public int size() {
+        long size = count.sum();
+        return (int) Math.max(0, Math.min(size, Integer.MAX_VALUE));
+    }
+
+    @Override
+    public void clear() {
+        int removed = 0;
+        for (Node<E> node = top.getAndSet(null); node != null; node = node.next) {
+            removed++;
+        }
+        count.add(-removed);
+    }
+
+    // Iterates from the top of the stack down, like ArrayDeque used as a stack
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+            private Node<E> next = top.get();
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public E next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                E item = next.item;
+                next = next.next;
+                return item;
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (Iterator<E> it = iterator(); it.hasNext(); ) {
+            sb.append(it.next());
+            if (it.hasNext()) {
+                sb.append(", ");
+            }
+        }
+        return sb.append(']').toString();
+    }
+}
@@ -0,0 +1,80 @@
+package StackVector.StackLab;
+
+import java.util.Stack;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compares java.util.Stack with ConcurrentStack when several threads push and pop at once.
+ *
+ * Every thread pushes a value and pops one back OPERATIONS times. The table shows the total
+ * number of push/pop pairs per millisecond at each thread count; java.util.Stack serializes
+ * all of them on one monitor lock, while ConcurrentStack uses CAS plus elimination.
+ * It also checks that every pushed value was popped exactly once in total.
+ */
+public class ConcurrentStackComparison {
+
+    private static final int OPERATIONS = 500_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        int maxThreads = Math.max(8, Runtime.getRuntime().availableProcessors());
+        System.out.printf("%-8s %22s %22s%n", "threads", "Stack (pairs/ms)", "ConcurrentStack (pairs/ms)");
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            Stack<Integer> legacy = new Stack<>();
+            double legacyRate = run(threads, legacy::push, legacy::pop);
+
+            LifoStack<Integer> concurrent = new ConcurrentStack<>();
+            double concurrentRate = run(threads, concurrent::push, concurrent::pop);
+
+            System.out.printf("%-8d %22.0f %22.0f%n", threads, legacyRate, concurrentRate);
+        }
+    }
+
+    private interface Push {
+        void push(Integer value);
+    }
+
+    private interface Pop {
+        Integer pop();
+    }
+
+    private static double run(int threads, Push push, Pop pop) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        LongAdder pushedSum = new LongAdder();
+        LongAdder poppedSum = new LongAdder();
+
+        for (int t = 0; t < threads; t++) {
+            int base = t * OPERATIONS;
+            new Thread(() -> {
+                try {
+                    start.await();
+                    long pushed = 0;
+                    long popped = 0;
+                    for (int i = 0; i < OPERATIONS; i++) {
+                        Integer value = base + i;
+                        push.push(value);
+                        pushed += value;
+                        popped += pop.pop();
+                    }
+                    pushedSum.add(pushed);
+                    poppedSum.add(popped);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            }).start();
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        done.await();
+        double millis = (System.nanoTime() - begin) / 1_000_000.0;
+
+        if (pushedSum.sum() != poppedSum.sum()) {
+            throw new IllegalStateException("Lost or duplicated elements");
+        }
+        return threads * (double) OPERATIONS / millis;
+    }
+}
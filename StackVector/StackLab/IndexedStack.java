@@ -0,0 +1,534 @@
+package StackVector.StackLab;
+
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * A LIFO stack with an O(1) search(), the distance-from-top query of java.util.Stack.
+ *
+ * Stack.search("Candy Kong") scans the whole Vector from the top with lastIndexOf, and
+ * ArrayDeque has no such query at all. Here every element gets a sequence number, one more
+ * than the element below it, and a hash index maps every distinct element to the sequence
+ * numbers it occupies, kept in ascending order in a small deque of ints. Each push or pop at
+ * either end adds or removes one number at the matching end of that deque, so the index is
+ * always up to date:
+ * - search(o) returns the 1-based distance of the topmost occurrence, exactly like
+ *   Stack.search, in O(1); -1 if the element is not in the stack.
+ * - contains(o) and count(o) are O(1).
+ * - push, pop and peek stay O(1) (amortized; plus one hash lookup), and so do the operations
+ *   on the bottom of the stack (addLast, pollLast, peekLast).
+ * Duplicates are allowed: after popping the topmost copy, search finds the next one down.
+ * An element that occurs once is indexed by a single Integer; once it has occurred twice it
+ * keeps its int deque until it leaves the stack, so pushing and popping a duplicate does not
+ * allocate.
+ *
+ * It is a full Deque whose first element is the top of the stack, like ArrayDeque used as a
+ * stack: add, offer and addLast put an element at the bottom. Elements live in a circular
+ * array indexed by sequence number. remove(Object), removeFirst/LastOccurrence and the
+ * iterators' remove() find the element through the index but remove from the middle in O(n):
+ * the elements above are shifted down and the index is rebuilt. removeIf, removeAll and
+ * retainAll do a single O(n) pass. Null elements are not permitted. Not thread-safe.
+ */
+public class IndexedStack<E> extends AbstractCollection<E> implements Deque<E> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    // Circular array: the element with sequence number s is at slot(s). Its length is a power of two.
+    private Object[] elements = new Object[DEFAULT_CAPACITY];
+
+    // Sequence numbers of the bottom element and one past the top one. They may wrap around;
+    // only their differences matter, so every comparison below uses == or subtraction.
+    private int low, high;
+    private int modCount;
+
+    // Element -> Integer (single sequence number) or Positions (ascending sequence numbers)
+    private final Map<Object, Object> positions = new HashMap<>();
+
+    // The sequence numbers of one element, bottom first: a growable circular array of ints
+    private static final class Positions {
+        private int[] values = new int[4];
+        private int head, size;
+
+        void addFirst(int value) {
+            grow();
+            head = (head - 1) & (values.length - 1);
+            values[head] = value;
+            size++;
+        }
+
+        void addLast(int value) {
+            grow();
+            values[(head + size) & (values.length - 1)] = value;
+            size++;
+        }
+
+        int first() {
+            return values[head];
+        }
+
+        int last() {
+            return values[(head + size - 1) & (values.length - 1)];
+        }
+
+        void removeFirst() {
+            head = (head + 1) & (values.length - 1);
+            size--;
+        }
+
+        void removeLast() {
+            size--;
+        }
+
+        int size() {
+            return size;
+        }
+
+        private void grow() {
+            if (size == values.length) {
+                int[] grown = new int[values.length * 2];
+                for (int i = 0; i < size; i++) {
+                    grown[i] = values[(head + i) & (values.length - 1)];
+                }
+                values = grown;
+                head = 0;
+            }
+        }
+    }
+
+    // Pushes an element onto the top of the stack
+    @Override
+    public void push(E e) {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+        ensureCapacity();
+        elements[slot(high)] = e;
+        index(e, high, true);
+        high++;
+        modCount++;
+    }
+
+    // Adds an element at the bottom of the stack
+    @Override
+    public void addLast(E e) {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+        ensureCapacity();
+        low--;
+        elements[slot(low)] = e;
+        index(e, low, false);
+        modCount++;
+    }
+
+    // Removes and returns the top element, or null if the stack is empty
+    @Override
+    public E pollFirst() {
+        if (isEmpty()) {
+            return null;
+        }
+        high--;
+        E e = elementAt(high);
+        elements[slot(high)] = null;
+        unindex(e, true);
+        modCount++;
+        return e;
+    }
+
+    // Removes and returns the bottom element, or null if the stack is empty
+    @Override
+    public E pollLast() {
+        if (isEmpty()) {
+            return null;
+        }
+        E e = elementAt(low);
+        elements[slot(low)] = null;
+        low++;
+        unindex(e, false);
+        modCount++;
+        return e;
+    }
+
+    // Returns the top element without removing it, or null if the stack is empty
+    @Override
+    public E peekFirst() {
+        return isEmpty() ? null : elementAt(high - 1);
+    }
+
+    // Returns the bottom element without removing it, or null if the stack is empty
+    @Override
+    public E peekLast() {
+        return isEmpty() ? null : elementAt(low);
+    }
+
+    /**
+     * Returns the 1-based distance from the top of the stack to the topmost occurrence of o,
+     * or -1 if o is not in the stack. Same result as java.util.Stack.search, in O(1).
+     */
+    public int search(Object o) {
+        Object p = positions.get(o);
+        if (p == null) {
+            return -1;
+        }
+        return high - topmost(p);
+    }
+
+    // Number of occurrences of o in the stack, in O(1)
+    public int count(Object o) {
+        Object p = positions.get(o);
+        if (p == null) {
+            return 0;
+        }
+        return p instanceof Integer ? 1 : ((Positions) p).size();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return positions.containsKey(o);
+    }
+
+    private int slot(int sequence) {
+        return sequence & (elements.length - 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private E elementAt(int sequence) {
+        return (E) elements[slot(sequence)];
+    }
+
+    // Doubles the array when it is full, keeping every element at the slot of its sequence number
+    private void ensureCapacity() {
+        if (size() == elements.length) {
+            Object[] grown = new Object[elements.length * 2];
+            for (int s = low; s != high; s++) {
+                grown[s & (grown.length - 1)] = elements[slot(s)];
+            }
+            elements = grown;
+        }
+    }
+
+    private static int topmost(Object p) {
+        return p instanceof Integer ? (Integer) p : ((Positions) p).last();
+    }
+
+    private static int bottommost(Object p) {
+        return p instanceof Integer ? (Integer) p : ((Positions) p).first();
+    }
+
+    // Records that e is at 'sequence', above (atTop) or below all its other occurrences
+    private void index(Object e, int sequence, boolean atTop) {
+        Object p = positions.get(e);
+        if (p == null) {
+            positions.put(e, sequence);
+            return;
+        }
+        Positions list;
+        if (p instanceof Integer) {
+            list = new Positions();
+            list.addLast((Integer) p);
+            positions.put(e, list);
+        } else {
+            list = (Positions) p;
+        }
+        if (atTop) {
+            list.addLast(sequence);
+        } else {
+            list.addFirst(sequence);
+        }
+    }
+
+    // Forgets the topmost (atTop) or bottommost occurrence of e
+    private void unindex(Object e, boolean atTop) {
+        Object p = positions.get(e);
+        if (p instanceof Integer) {
+            positions.remove(e);
+            return;
+        }
+        Positions list = (Positions) p;
+        if (atTop) {
+            list.removeLast();
+        } else {
+            list.removeFirst();
+        }
+        if (list.size() == 0) {
+            positions.remove(e);
+        }
+    }
+
+    // Removes the element with a sequence number, shifting the ones above it down: O(n)
+    // unless it is the top or the bottom element
+    private void removeAt(int sequence) {
+        if (sequence == high - 1) {
+            pollFirst();
+            return;
+        }
+        if (sequence == low) {
+            pollLast();
+            return;
+        }
+        for (int s = sequence; s != high - 1; s++) {
+            elements[slot(s)] = elements[slot(s + 1)];
+        }
+        high--;
+        elements[slot(high)] = null;
+        reindex();
+        modCount++;
+    }
+
+    private void reindex() {
+        positions.clear();
+        for (int s = low; s != high; s++) {
+            index(elements[slot(s)], s, true);
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return low == high;
+    }
+
+    @Override
+    public int size() {
+        return high - low;
+    }
+
+    @Override
+    public void clear() {
+        for (int s = low; s != high; s++) {
+            elements[slot(s)] = null;
+        }
+        low = high = 0;
+        positions.clear();
+        modCount++;
+    }
+
+    // Iterates from the top of the stack down, like ArrayDeque used as a stack
+    @Override
+    public Iterator<E> iterator() {
+        return new Itr(false);
+    }
+
+    // Iterates from the bottom of the stack up
+    @Override
+    public Iterator<E> descendingIterator() {
+        return new Itr(true);
+    }
+
+    private final class Itr implements Iterator<E> {
+        private final boolean upwards;
+        private int next;
+        private int remaining = size();
+        private int lastReturned;
+        private boolean canRemove;
+        private int expectedModCount = modCount;
+
+        Itr(boolean upwards) {
+            this.upwards = upwards;
+            this.next = upwards ? low : high - 1;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+
+        @Override
+        public E next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (remaining <= 0) {
+                throw new NoSuchElementException();
+            }
+            lastReturned = next;
+            next += upwards ? 1 : -1;
+            remaining--;
+            canRemove = true;
+            return elementAt(lastReturned);
+        }
+
+        @Override
+        public void remove() {
+            if (!canRemove) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            // Removing anything but the bottom element shifts the elements above it down by one
+            boolean shifts = lastReturned != low;
+            removeAt(lastReturned);
+            if (upwards && shifts) {
+                next = lastReturned;
+            }
+            canRemove = false;
+            expectedModCount = modCount;
+        }
+    }
+
+    // Removal from the middle, found through the index
+
+    @Override
+    public boolean remove(Object o) {
+        return removeFirstOccurrence(o);
+    }
+
+    // Removes the occurrence nearest to the top
+    @Override
+    public boolean removeFirstOccurrence(Object o) {
+        Object p = positions.get(o);
+        if (p == null) {
+            return false;
+        }
+        removeAt(topmost(p));
+        return true;
+    }
+
+    // Removes the occurrence nearest to the bottom
+    @Override
+    public boolean removeLastOccurrence(Object o) {
+        Object p = positions.get(o);
+        if (p == null) {
+            return false;
+        }
+        removeAt(bottommost(p));
+        return true;
+    }
+
+    // Removes every matching element in one pass from the bottom up, then rebuilds the index once
+    @Override
+    public boolean removeIf(Predicate<? super E> filter) {
+        Objects.requireNonNull(filter);
+        int kept = low;
+        for (int s = low; s != high; s++) {
+            E e = elementAt(s);
+            if (!filter.test(e)) {
+                elements[slot(kept++)] = e;
+            }
+        }
+        if (kept == high) {
+            return false;
+        }
+        for (int s = kept; s != high; s++) {
+            elements[slot(s)] = null;
+        }
+        high = kept;
+        reindex();
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        Objects.requireNonNull(c);
+        return removeIf(c::contains);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        Objects.requireNonNull(c);
+        return removeIf(e -> !c.contains(e));
+    }
+
+    // Stack operations expressed through the methods above
+
+    @Override
+    public void addFirst(E e) {
+        push(e);
+    }
+
+    @Override
+    public boolean offerFirst(E e) {
+        push(e);
+        return true;
+    }
+
+    @Override
+    public E pop() {
+        return removeFirst();
+    }
+
+    @Override
+    public E removeFirst() {
+        E item = pollFirst();
+        if (item == null) {
+            throw new NoSuchElementException();
+        }
+        return item;
+    }
+
+    @Override
+    public E getFirst() {
+        E item = peekFirst();
+        if (item == null) {
+            throw new NoSuchElementException();
+        }
+        return item;
+    }
+
+    @Override
+    public E peek() {
+        return peekFirst();
+    }
+
+    @Override
+    public E poll() {
+        return pollFirst();
+    }
+
+    @Override
+    public E remove() {
+        return removeFirst();
+    }
+
+    @Override
+    public E element() {
+        return getFirst();
+    }
+
+    // Queue operations on the bottom of the stack, as in Deque's contract
+
+    @Override
+    public boolean add(E e) {
+        addLast(e);
+        return true;
+    }
+
+    @Override
+    public boolean offer(E e) {
+        addLast(e);
+        return true;
+    }
+
+    @Override
+    public boolean offerLast(E e) {
+        addLast(e);
+        return true;
+    }
+
+    @Override
+    public E removeLast() {
+        E item = pollLast();
+        if (item == null) {
+            throw new NoSuchElementException();
+        }
+        return item;
+    }
+
+    @Override
+    public E getLast() {
+        E item = peekLast();
+        if (item == null) {
+            throw new NoSuchElementException();
+        }
+        return item;
+    }
+}
@@ -0,0 +1,65 @@
+package StackVector.StackLab;
+
+import java.util.Random;
+import java.util.Stack;
+
+/**
+ * Compares Stack.search with IndexedStack.search, as used by StackExampleOldMethod to find
+ * "Candy Kong".
+ *
+ * Both stacks get the same N pushes of names drawn from N / 4 distinct ones, so most names
+ * occur several times. Then the same random names, half of them never pushed, are searched
+ * in both, and the results must be identical. Finally both are popped to empty, searching for
+ * the popped name each time, to check that duplicates are found again further down.
+ * This is a rough manual comparison; timings depend on the machine and JVM flags.
+ * Pass N as the first argument (the default is 20000).
+ */
+public class IndexedStackComparison {
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int searches = 20_000;
+        Random random = new Random(42);
+
+        Stack<String> stack = new Stack<>();
+        IndexedStack<String> indexed = new Lab().createNewIndexedStack();
+        for (int i = 0; i < n; i++) {
+            String name = "Kong " + random.nextInt(Math.max(1, n / 4));
+            stack.push(name);
+            indexed.push(name);
+        }
+        String[] queries = new String[searches];
+        for (int i = 0; i < searches; i++) {
+            queries[i] = "Kong " + random.nextInt(Math.max(1, n / 2));
+        }
+
+        long start = System.nanoTime();
+        long stackSum = 0;
+        for (String query : queries) {
+            stackSum += stack.search(query);
+        }
+        long stackNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        long indexedSum = 0;
+        for (String query : queries) {
+            indexedSum += indexed.search(query);
+        }
+        long indexedNanos = System.nanoTime() - start;
+
+        System.out.printf("%d searches in a stack of %d:%n", searches, n);
+        System.out.printf("  %-14s %10.2f ms  (sum of distances %d)%n", "Stack", stackNanos / 1e6, stackSum);
+        System.out.printf("  %-14s %10.2f ms  (sum of distances %d)%n", "IndexedStack", indexedNanos / 1e6, indexedSum);
+        if (stackSum != indexedSum) {
+            throw new AssertionError("Different search results");
+        }
+
+        while (!stack.isEmpty()) {
+            String popped = stack.pop();
+            if (!popped.equals(indexed.pop()) || stack.search(popped) != indexed.search(popped)) {
+                throw new AssertionError("Stacks differ after popping " + popped);
+            }
+        }
+        System.out.println("Both stacks gave the same results while popping to empty.");
+    }
+}
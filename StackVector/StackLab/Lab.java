@@ -28,6 +28,46 @@ public class Lab {
         return new ArrayDeque<>();
     }
 
+    /**
+     * Creates and returns a thread-safe, lock-free stack for use by many threads at once.
+     *
+     * ArrayDeque is not thread-safe, and the Stack class makes every thread wait on one lock.
+     * ConcurrentStack is a LifoStack rather than a Deque, since a lock-free stack has no tail;
+     * each method below has a LifoStack overload that works with it. Its size is O(1) but only
+     * approximate while other threads are pushing or popping.
+     *
+     * @return A newly instantiated ConcurrentStack.
+     */
+    public LifoStack<String> createNewConcurrentStack(){
+        return new ConcurrentStack<>();
+    }
+
+    /**
+     * Creates and returns a stack that keeps its Strings outside the Java heap.
+     *
+     * Entries are stored as UTF-8 bytes in direct memory, so very large stacks add almost
+     * nothing for the garbage collector to trace. OffHeapStringStack is a LifoStack, so the
+     * LifoStack overloads of the methods below work with it.
+     *
+     * @return A newly instantiated OffHeapStringStack.
+     */
+    public LifoStack<String> createNewOffHeapStack(){
+        return new OffHeapStringStack();
+    }
+
+    /**
+     * Creates and returns a stack that can tell how far an element is from the top in O(1).
+     *
+     * IndexedStack keeps a hash index of the positions of its elements, so search() gives the
+     * same result as Stack.search without scanning the stack. It is a full Deque whose first
+     * element is the top of the stack, so all of the methods below work with it.
+     *
+     * @return A newly instantiated IndexedStack.
+     */
+    public IndexedStack<String> createNewIndexedStack(){
+        return new IndexedStack<>();
+    }
+
     /**
      * Returns the number of elements currently in the deque.
      *
@@ -70,4 +110,45 @@ public class Lab {
     public String getTopOfStackWithoutRemoving(Deque<String> stack){
         return stack.peek();
     }
+
+    /**
+     * Returns the number of elements currently in the stack.
+     * For a ConcurrentStack this is approximate while other threads are pushing or popping.
+     *
+     * @param stack A LifoStack of Strings.
+     * @return The number of elements in the stack.
+     */
+    public int getSize(LifoStack<String> stack){
+        return stack.size();
+    }
+
+    /**
+     * Pushes a value to the top of the stack.
+     *
+     * @param stack A LifoStack of Strings.
+     * @param item A String to be added to the stack.
+     */
+    public void addToTopOfStack(LifoStack<String> stack, String item){
+        stack.push(item);
+    }
+
+    /**
+     * Removes and returns the value from the top of the stack.
+     *
+     * @param stack A LifoStack of Strings.
+     * @return The value removed from the top of the stack.
+     */
+    public String removeFromTopOfStack(LifoStack<String> stack){
+        return stack.pop();
+    }
+
+    /**
+     * Peeks at the value on top of the stack without removing it.
+     *
+     * @param stack A LifoStack of Strings.
+     * @return The value at the top of the stack, or null if it is empty.
+     */
+    public String getTopOfStackWithoutRemoving(LifoStack<String> stack){
+        return stack.peek();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,93 @@
+package StackVector.StackLab;
+
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * The stack operations Lab uses: push, pop and peek, plus size and iteration.
+ *
+ * Deque also promises the operations of a queue (add to the tail, remove from the tail,
+ * remove any element, iterate backwards), which a stack specialized for one end cannot
+ * offer without throwing UnsupportedOperationException. Stacks like ConcurrentStack
+ * implement this smaller interface instead, and Lab has an overload of each method for it.
+ * of(deque) views any Deque, such as ArrayDeque, as a LifoStack.
+ */
+public interface LifoStack<E> extends Iterable<E> {
+
+    // Pushes an element onto the top of the stack
+    void push(E e);
+
+    // Removes and returns the top element; throws NoSuchElementException if the stack is empty
+    default E pop() {
+        E e = poll();
+        if (e == null) {
+            throw new NoSuchElementException();
+        }
+        return e;
+    }
+
+    // Removes and returns the top element, or null if the stack is empty
+    E poll();
+
+    // Returns the top element without removing it, or null if the stack is empty
+    E peek();
+
+    int size();
+
+    default boolean isEmpty() {
+        return peek() == null;
+    }
+
+    void clear();
+
+    // A LifoStack view of a Deque used as a stack: push, pop and peek work on its first element
+    static <E> LifoStack<E> of(Deque<E> deque) {
+        return new LifoStack<E>() {
+            @Override
+            public void push(E e) {
+                deque.push(e);
+            }
+
+            @Override
+            public E pop() {
+                return deque.pop();
+            }
+
+            @Override
+            public E poll() {
+                return deque.pollFirst();
+            }
+
+            @Override
+            public E peek() {
+                return deque.peekFirst();
+            }
+
+            @Override
+            public int size() {
+                return deque.size();
+            }
+
+            @Override
+            public boolean isEmpty() {
+                return deque.isEmpty();
+            }
+
+            @Override
+            public void clear() {
+                deque.clear();
+            }
+
+            @Override
+            public Iterator<E> iterator() {
+                return deque.iterator();
+            }
+
+            @Override
+            public String toString() {
+                return deque.toString();
+            }
+        };
+    }
+}
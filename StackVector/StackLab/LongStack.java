@@ -0,0 +1,109 @@
+package StackVector.StackLab;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A LIFO stack of primitive longs backed by a plain long array.
+ *
+ * Unlike Deque<Long>, pushing a value does not box it into a Long, so there is no
+ * per-element allocation: the only allocations are the occasional array growths.
+ * A stack created with fixedCapacity(n) never resizes; pushing past its capacity throws
+ * IllegalStateException, like a bounded Deque's addFirst.
+ */
+public class LongStack {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private long[] elements;
+    private int size;
+    private final boolean fixed;
+
+    // Creates a growable stack
+    public LongStack() {
+        this(DEFAULT_CAPACITY, false);
+    }
+
+    // Creates a growable stack with room for initialCapacity values before the first resize
+    public LongStack(int initialCapacity) {
+        this(initialCapacity, false);
+    }
+
+    private LongStack(int capacity, boolean fixed) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Illegal capacity: " + capacity);
+        }
+        this.elements = new long[capacity];
+        this.fixed = fixed;
+    }
+
+    // Creates a stack that holds at most 'capacity' values and never resizes
+    public static LongStack fixedCapacity(int capacity) {
+        return new LongStack(capacity, true);
+    }
+
+    // Pushes a value onto the top of the stack
+    public void push(long value) {
+        if (size == elements.length) {
+            grow();
+        }
+        elements[size++] = value;
+    }
+
+    // Removes and returns the value on top of the stack
+    public long pop() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return elements[--size];
+    }
+
+    // Returns the value on top of the stack without removing it
+    public long peek() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return elements[size - 1];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int capacity() {
+        return elements.length;
+    }
+
+    public boolean isFixedCapacity() {
+        return fixed;
+    }
+
+    // Removes every value; keeps the backing array for reuse
+    public void clear() {
+        size = 0;
+    }
+
+    private void grow() {
+        if (fixed) {
+            throw new IllegalStateException("Stack full (capacity " + elements.length + ")");
+        }
+        elements = Arrays.copyOf(elements, Math.max(DEFAULT_CAPACITY, elements.length + (elements.length >> 1)));
+    }
+
+    // Same format as ArrayDeque.toString(): top of the stack first
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = size - 1; i >= 0; i--) {
+            sb.append(elements[i]);
+            if (i > 0) {
+                sb.append(", ");
+            }
+        }
+        return sb.append(']').toString();
+    }
+}
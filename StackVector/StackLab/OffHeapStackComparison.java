@@ -0,0 +1,86 @@
+package StackVector.StackLab;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+
+/**
+ * Compares ArrayDeque<String> with OffHeapStringStack for a large backtracking-style workload.
+ *
+ * N strings are pushed, then popped and pushed again in small bursts (like a depth-first
+ * search), then everything is popped. The table shows the time, the garbage collections that
+ * ran and how much heap was in use at the peak. A last run uses a small direct memory budget
+ * so that most segments are memory-mapped from a spill file.
+ * This is a rough manual comparison; results depend on the machine, the heap size and the
+ * garbage collector. Pass N as the first argument (the default is 5 million).
+ */
+public class OffHeapStackComparison {
+
+    public static void main(String[] args) throws IOException {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        System.out.printf("%-30s %10s %8s %10s %14s%n", "", "time (ms)", "GCs", "GC (ms)", "peak heap (MB)");
+        run("ArrayDeque<String>", LifoStack.of(new ArrayDeque<>()), n);
+        run("OffHeapStringStack", new OffHeapStringStack(), n);
+
+        Path spillDirectory = Files.createTempDirectory("stack-spill");
+        try (OffHeapStringStack spilling = new OffHeapStringStack(OffHeapStringStack.DEFAULT_SEGMENT_SIZE,
+                16L << 20, spillDirectory)) {
+            run("OffHeapStringStack (spilling)", spilling, n);
+        }
+        Files.deleteIfExists(spillDirectory);
+    }
+
+    private static void run(String name, LifoStack<String> stack, int n) {
+        Lab lab = new Lab();
+        System.gc();
+        long gcCountBefore = gcCount();
+        long gcTimeBefore = gcTime();
+        long start = System.nanoTime();
+        long checksum = 0;
+
+        for (int i = 0; i < n; i++) {
+            lab.addToTopOfStack(stack, "state-" + i);
+        }
+        // Backtracking: undo a few steps and try other branches
+        for (int i = 0; i < n / 10; i++) {
+            for (int j = 0; j < 3; j++) {
+                checksum += lab.removeFromTopOfStack(stack).length();
+            }
+            for (int j = 0; j < 3; j++) {
+                lab.addToTopOfStack(stack, "branch-" + i + "-" + j);
+            }
+        }
+        long peakHeap = usedHeap();
+        while (!stack.isEmpty()) {
+            checksum += lab.removeFromTopOfStack(stack).length();
+        }
+
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        System.out.printf("%-30s %10d %8d %10d %14d  (checksum %d)%n", name, millis, gcCount() - gcCountBefore,
+            gcTime() - gcTimeBefore, peakHeap >> 20, checksum);
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+        }
+        return count;
+    }
+
+    private static long gcTime() {
+        long time = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            time += Math.max(0, gc.getCollectionTime());
+        }
+        return time;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
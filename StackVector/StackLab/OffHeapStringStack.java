@@ -0,0 +1,345 @@
+package StackVector.StackLab;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * A stack of Strings stored outside the Java heap, as UTF-8 bytes in large buffers.
+ *
+ * An ArrayDeque<String> with tens of millions of entries holds tens of millions of String
+ * objects that the garbage collector has to trace on every full collection, and it copies its
+ * whole array each time it doubles. Here every pushed String is encoded straight into a
+ * direct ByteBuffer segment (1 MiB by default) as [UTF-8 bytes][int length], so the heap only
+ * holds a short list of segments whatever the number of entries, and growing the stack just
+ * adds another segment. pop() reads the length stored last and decodes the bytes before it.
+ *
+ * With a spill directory, segments beyond 'maxDirectBytes' are memory-mapped regions of a
+ * temporary file instead, so the stack can grow beyond both the heap and the direct memory
+ * limit; the operating system pages those regions in and out as needed. A mapping cannot be
+ * released on demand, so the file is never truncated while its regions are mapped: it stays
+ * at its high-water mark, and regions freed by popping are reused by later pushes.
+ * close() releases the segments and deletes the file.
+ *
+ * Like ConcurrentStack, it implements LifoStack rather than Deque, since it can only add and
+ * remove at the top; Lab takes it through its LifoStack overloads. The iterator goes from the
+ * top down. Null elements are rejected like in ArrayDeque. The stack is not thread-safe.
+ */
+public class OffHeapStringStack implements LifoStack<String>, Closeable {
+
+    public static final int DEFAULT_SEGMENT_SIZE = 1 << 20;
+
+    private static final int LENGTH_BYTES = Integer.BYTES;
+
+    private final int segmentSize;
+    private final long maxDirectBytes;
+    private final Path spillDirectory;
+
+    // Segments from the bottom of the stack up, how many bytes of each are in use,
+    // and whether each one is mapped from the spill file
+    private final List<ByteBuffer> segments = new ArrayList<>();
+    private int[] used = new int[16];
+    private boolean[] mapped = new boolean[16];
+    private int current = -1;
+    private long directBytes;
+
+    // Spill file, its size, and the mapped regions of it not in use, most recently freed first
+    private Path spillFile;
+    private FileChannel spillChannel;
+    private long spillBytes;
+    private final ArrayDeque<ByteBuffer> spareRegions = new ArrayDeque<>();
+
+    private long size;
+    private int modCount;
+
+    // Reused buffer for decoding, grown to the longest entry popped so far
+    private byte[] scratch = new byte[256];
+
+    // Direct memory only
+    public OffHeapStringStack() {
+        this(DEFAULT_SEGMENT_SIZE, Long.MAX_VALUE, null);
+    }
+
+    // Segments beyond maxDirectBytes of direct memory are mapped from a file in spillDirectory
+    public OffHeapStringStack(int segmentSize, long maxDirectBytes, Path spillDirectory) {
+        if (segmentSize < 64) {
+            throw new IllegalArgumentException("segmentSize must be at least 64: " + segmentSize);
+        }
+        if (maxDirectBytes < 0) {
+            throw new IllegalArgumentException("maxDirectBytes must not be negative: " + maxDirectBytes);
+        }
+        this.segmentSize = segmentSize;
+        this.maxDirectBytes = maxDirectBytes;
+        this.spillDirectory = spillDirectory;
+    }
+
+    // Pushes an element onto the top of the stack
+    @Override
+    public void push(String s) {
+        if (s == null) {
+            throw new NullPointerException();
+        }
+        int length = utf8Length(s);
+        int needed = length + LENGTH_BYTES;
+        if (current < 0 || used[current] + needed > segments.get(current).capacity()) {
+            nextSegment(needed);
+        }
+        ByteBuffer segment = segments.get(current);
+        int position = encode(s, segment, used[current]);
+        segment.putInt(position, length);
+        used[current] = position + LENGTH_BYTES;
+        size++;
+        modCount++;
+    }
+
+    // Removes and returns the top element, or null if the stack is empty
+    @Override
+    public String poll() {
+        if (size == 0) {
+            return null;
+        }
+        ByteBuffer segment = segments.get(current);
+        int end = used[current] - LENGTH_BYTES;
+        int length = segment.getInt(end);
+        int start = end - length;
+        String s = decode(segment, start, length);
+        used[current] = start;
+        size--;
+        modCount++;
+        if (start == 0) {
+            releaseTopSegment();
+        }
+        return s;
+    }
+
+    // Returns the top element without removing it, or null if the stack is empty
+    @Override
+    public String peek() {
+        if (size == 0) {
+            return null;
+        }
+        ByteBuffer segment = segments.get(current);
+        int end = used[current] - LENGTH_BYTES;
+        int length = segment.getInt(end);
+        return decode(segment, end - length, length);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return (int) Math.min(size, Integer.MAX_VALUE);
+    }
+
+    // Bytes of direct memory currently allocated, plus the size of the spill file
+    public long allocatedBytes() {
+        return directBytes + spillBytes;
+    }
+
+    @Override
+    public void clear() {
+        while (!segments.isEmpty()) {
+            dropTopSegment();
+        }
+        current = -1;
+        size = 0;
+        modCount++;
+    }
+
+    // Releases all segments and deletes the spill file, if any. The operating system unmaps
+    // its regions once their buffers are garbage collected.
+    @Override
+    public void close() throws IOException {
+        clear();
+        spareRegions.clear();
+        if (spillChannel != null) {
+            spillChannel.close();
+            Files.deleteIfExists(spillFile);
+            spillChannel = null;
+            spillFile = null;
+            spillBytes = 0;
+        }
+    }
+
+    // Iterates from the top of the stack down, like ArrayDeque used as a stack
+    @Override
+    public Iterator<String> iterator() {
+        return new Iterator<String>() {
+            private int segmentIndex = current;
+            private int end = current < 0 ? 0 : used[current];
+            private final int expectedModCount = modCount;
+
+            @Override
+            public boolean hasNext() {
+                while (end == 0 && segmentIndex > 0) {
+                    segmentIndex--;
+                    end = used[segmentIndex];
+                }
+                return end > 0;
+            }
+
+            @Override
+            public String next() {
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                ByteBuffer segment = segments.get(segmentIndex);
+                int lengthAt = end - LENGTH_BYTES;
+                int length = segment.getInt(lengthAt);
+                end = lengthAt - length;
+                return decode(segment, end, length);
+            }
+        };
+    }
+
+    // Moves to the next segment, allocating one if the cached one is missing or too small
+    private void nextSegment(int needed) {
+        current++;
+        if (current == used.length) {
+            used = Arrays.copyOf(used, used.length * 2);
+            mapped = Arrays.copyOf(mapped, mapped.length * 2);
+        }
+        used[current] = 0;
+        if (current < segments.size()) {
+            if (segments.get(current).capacity() >= needed) {
+                return; // reuse the spare segment kept by releaseTopSegment
+            }
+            dropTopSegment();
+        }
+        int capacity = Math.max(segmentSize, needed);
+        segments.add(allocate(capacity));
+    }
+
+    // Allocates the segment at index 'current'
+    private ByteBuffer allocate(int capacity) {
+        if (spillDirectory == null || directBytes + capacity <= maxDirectBytes) {
+            directBytes += capacity;
+            mapped[current] = false;
+            return ByteBuffer.allocateDirect(capacity);
+        }
+        mapped[current] = true;
+        ByteBuffer spare = spareRegions.peek();
+        if (spare != null && spare.capacity() >= capacity) {
+            return spareRegions.pop();
+        }
+        try {
+            if (spillChannel == null) {
+                spillFile = Files.createTempFile(spillDirectory, "stack", ".spill");
+                spillChannel = FileChannel.open(spillFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            }
+            ByteBuffer segment = spillChannel.map(FileChannel.MapMode.READ_WRITE, spillBytes, capacity);
+            spillBytes += capacity;
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Called when the top segment became empty. One empty segment is kept above the top
+    // so that pushing and popping around a segment boundary does not allocate every time.
+    private void releaseTopSegment() {
+        while (segments.size() > current + 1) {
+            dropTopSegment();
+        }
+        current--;
+    }
+
+    // Direct buffers are freed when they are garbage collected; mapped regions are kept for reuse
+    private void dropTopSegment() {
+        int index = segments.size() - 1;
+        ByteBuffer segment = segments.remove(index);
+        if (mapped[index]) {
+            spareRegions.push(segment);
+        } else {
+            directBytes -= segment.capacity();
+        }
+    }
+
+    // Length of the UTF-8 encoding of s, matching String.getBytes(UTF_8)
+    private static int utf8Length(String s) {
+        int length = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < s.length()
+                       && Character.isLowSurrogate(s.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                length++; // an unpaired surrogate is encoded as '?'
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    // Encodes s as UTF-8 at 'position' without creating a byte[]; returns the end position
+    private static int encode(String s, ByteBuffer out, int position) {
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                out.put(position++, (byte) c);
+            } else if (c < 0x800) {
+                out.put(position++, (byte) (0xC0 | (c >> 6)));
+                out.put(position++, (byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < s.length()
+                       && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, s.charAt(++i));
+                out.put(position++, (byte) (0xF0 | (cp >> 18)));
+                out.put(position++, (byte) (0x80 | ((cp >> 12) & 0x3F)));
+                out.put(position++, (byte) (0x80 | ((cp >> 6) & 0x3F)));
+                out.put(position++, (byte) (0x80 | (cp & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                out.put(position++, (byte) '?');
+            } else {
+                out.put(position++, (byte) (0xE0 | (c >> 12)));
+                out.put(position++, (byte) (0x80 | ((c >> 6) & 0x3F)));
+                out.put(position++, (byte) (0x80 | (c & 0x3F)));
+            }
+        }
+        return position;
+    }
+
+    private String decode(ByteBuffer segment, int start, int length) {
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        segment.get(start, scratch, 0, length);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (Iterator<String> it = iterator(); it.hasNext(); ) {
+            sb.append(it.next());
+            if (it.hasNext()) {
+                sb.append(", ");
+            }
+        }
+        return sb.append(']').toString();
+    }
+}
@@ -0,0 +1,64 @@
+package StackVector.StackLab;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+// Padding before the value. The JVM lays out superclass fields first, so the
+// class hierarchy keeps these fields in front of the value whatever it reorders.
+abstract class SequenceLeftPadding {
+    long p01, p02, p03, p04, p05, p06, p07, p08;
+    long p09, p10, p11, p12, p13, p14, p15, p16;
+}
+
+abstract class SequenceValue extends SequenceLeftPadding {
+    volatile long value;
+
+    // Private to the one thread that owns this sequence (see RingBuffer)
+    long cache;
+}
+
+/**
+ * A counter alone on its cache lines, used for the head and tail of a RingBuffer.
+ *
+ * When the producer's tail and the consumer's head share a 64-byte cache line, every write by
+ * one side invalidates the line in the other side's cache (false sharing), which can cost more
+ * than the queue operation itself. 128 bytes of padding on both sides keep the value, and the
+ * owner's cached copy of the other counter, away from anything else, including the adjacent
+ * line the CPU may prefetch along with it.
+ */
+final class PaddedSequence extends SequenceValue {
+    long p17, p18, p19, p20, p21, p22, p23, p24;
+    long p25, p26, p27, p28, p29, p30, p31, p32;
+
+    private static final VarHandle VALUE;
+
+    static {
+        try {
+            VALUE = MethodHandles.lookup().findVarHandle(SequenceValue.class, "value", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    PaddedSequence(long initial) {
+        value = initial;
+    }
+
+    // Plain read, only for the thread that writes the value
+    long getPlain() {
+        return (long) VALUE.get(this);
+    }
+
+    long getAcquire() {
+        return (long) VALUE.getAcquire(this);
+    }
+
+    // Publishes the value and every write made before it, without a full fence
+    void setRelease(long newValue) {
+        VALUE.setRelease(this, newValue);
+    }
+
+    boolean compareAndSet(long expected, long newValue) {
+        return VALUE.compareAndSet(this, expected, newValue);
+    }
+}
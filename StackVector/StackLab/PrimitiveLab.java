@@ -0,0 +1,189 @@
+package StackVector.StackLab;
+
+/**
+ * The same stack operations as Lab, for stacks of primitive numbers.
+ *
+ * A Deque<Integer> boxes every pushed int into an Integer object. IntStack, LongStack and
+ * DoubleStack store the values directly in a growable array instead, so pushing and popping
+ * allocates nothing. Each create method also has a fixed-capacity variant that never resizes.
+ *
+ * See PrimitiveStackComparison for a timing comparison with ArrayDeque and java.util.Stack.
+ */
+public class PrimitiveLab {
+    /**
+     * Creates and returns a new, empty stack of ints that grows as needed.
+     *
+     * @return A newly instantiated IntStack.
+     */
+    public IntStack createNewIntStack(){
+        return new IntStack();
+    }
+
+    /**
+     * Creates and returns a new, empty stack of ints that never resizes.
+     *
+     * @param capacity The maximum number of values the stack can hold.
+     * @return A newly instantiated fixed-capacity IntStack.
+     */
+    public IntStack createNewIntStack(int capacity){
+        return IntStack.fixedCapacity(capacity);
+    }
+
+    /**
+     * Creates and returns a new, empty stack of longs that grows as needed.
+     *
+     * @return A newly instantiated LongStack.
+     */
+    public LongStack createNewLongStack(){
+        return new LongStack();
+    }
+
+    /**
+     * Creates and returns a new, empty stack of longs that never resizes.
+     *
+     * @param capacity The maximum number of values the stack can hold.
+     * @return A newly instantiated fixed-capacity LongStack.
+     */
+    public LongStack createNewLongStack(int capacity){
+        return LongStack.fixedCapacity(capacity);
+    }
+
+    /**
+     * Creates and returns a new, empty stack of doubles that grows as needed.
+     *
+     * @return A newly instantiated DoubleStack.
+     */
+    public DoubleStack createNewDoubleStack(){
+        return new DoubleStack();
+    }
+
+    /**
+     * Creates and returns a new, empty stack of doubles that never resizes.
+     *
+     * @param capacity The maximum number of values the stack can hold.
+     * @return A newly instantiated fixed-capacity DoubleStack.
+     */
+    public DoubleStack createNewDoubleStack(int capacity){
+        return DoubleStack.fixedCapacity(capacity);
+    }
+
+    /**
+     * Returns the number of values currently in the stack.
+     *
+     * @param stack An IntStack.
+     * @return The number of values in the stack.
+     */
+    public int getSize(IntStack stack){
+        return stack.size();
+    }
+
+    /**
+     * Pushes a value to the top of the stack without boxing it.
+     *
+     * @param stack An IntStack.
+     * @param item An int to be added to the stack.
+     */
+    public void addToTopOfStack(IntStack stack, int item){
+        stack.push(item);
+    }
+
+    /**
+     * Removes and returns the value from the top of the stack.
+     *
+     * @param stack An IntStack.
+     * @return The value removed from the top of the stack.
+     */
+    public int removeFromTopOfStack(IntStack stack){
+        return stack.pop();
+    }
+
+    /**
+     * Peeks at the value on top of the stack without removing it.
+     *
+     * @param stack An IntStack.
+     * @return The value at the top of the stack.
+     */
+    public int getTopOfStackWithoutRemoving(IntStack stack){
+        return stack.peek();
+    }
+
+    /**
+     * Returns the number of values currently in the stack.
+     *
+     * @param stack A LongStack.
+     * @return The number of values in the stack.
+     */
+    public int getSize(LongStack stack){
+        return stack.size();
+    }
+
+    /**
+     * Pushes a value to the top of the stack without boxing it.
+     *
+     * @param stack A LongStack.
+     * @param item A long to be added to the stack.
+     */
+    public void addToTopOfStack(LongStack stack, long item){
+        stack.push(item);
+    }
+
+    /**
+     * Removes and returns the value from the top of the stack.
+     *
+     * @param stack A LongStack.
+     * @return The value removed from the top of the stack.
+     */
+    public long removeFromTopOfStack(LongStack stack){
+        return stack.pop();
+    }
+
+    /**
+     * Peeks at the value on top of the stack without removing it.
+     *
+     * @param stack A LongStack.
+     * @return The value at the top of the stack.
+     */
+    public long getTopOfStackWithoutRemoving(LongStack stack){
+        return stack.peek();
+    }
+
+    /**
+     * Returns the number of values currently in the stack.
+     *
+     * @param stack A DoubleStack.
+     * @return The number of values in the stack.
+     */
+    public int getSize(DoubleStack stack){
+        return stack.size();
+    }
+
+    /**
+     * Pushes a value to the top of the stack without boxing it.
+     *
+     * @param stack A DoubleStack.
+     * @param item A double to be added to the stack.
+     */
+    public void addToTopOfStack(DoubleStack stack, double item){
+        stack.push(item);
+    }
+
+    /**
+     * Removes and returns the value from the top of the stack.
+     *
+     * @param stack A DoubleStack.
+     * @return The value removed from the top of the stack.
+     */
+    public double removeFromTopOfStack(DoubleStack stack){
+        return stack.pop();
+    }
+
+    /**
+     * Peeks at the value on top of the stack without removing it.
+     *
+     * @param stack A DoubleStack.
+     * @return The value at the top of the stack.
+     */
+    public double getTopOfStackWithoutRemoving(DoubleStack stack){
+        return stack.peek();
+    }
+}
@@ -0,0 +1,94 @@
+package StackVector.StackLab;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Stack;
+
+/**
+ * Compares pushing and popping ints with java.util.Stack<Integer>, ArrayDeque<Integer>
+ * and IntStack (growable and fixed-capacity).
+ *
+ * Each round pushes N values and pops them all again, summing the popped values so the
+ * JIT cannot skip the work. The first rounds are warm-up and are not reported.
+ * This is a rough manual comparison; timings depend on the machine and JVM flags.
+ */
+public class PrimitiveStackComparison {
+
+    private static final int N = 1_000_000;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 10;
+
+    public static void main(String[] args) {
+        System.out.println("Push then pop " + N + " ints, best of " + MEASURED_ROUNDS + " rounds:");
+        report("java.util.Stack<Integer>", PrimitiveStackComparison::legacyStack);
+        report("ArrayDeque<Integer>", PrimitiveStackComparison::arrayDeque);
+        report("IntStack (growable)", PrimitiveStackComparison::intStack);
+        report("IntStack (fixed capacity)", PrimitiveStackComparison::fixedIntStack);
+    }
+
+    private interface Workload {
+        long run();
+    }
+
+    private static void report(String name, Workload workload) {
+        long checksum = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            checksum += workload.run();
+        }
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            checksum += workload.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        System.out.printf("%-28s %8.2f ms  (checksum %d)%n", name, best / 1_000_000.0, checksum);
+    }
+
+    private static long legacyStack() {
+        Stack<Integer> stack = new Stack<>();
+        for (int i = 0; i < N; i++) {
+            stack.push(i);
+        }
+        long sum = 0;
+        while (!stack.empty()) {
+            sum += stack.pop();
+        }
+        return sum;
+    }
+
+    private static long arrayDeque() {
+        Deque<Integer> stack = new ArrayDeque<>();
+        for (int i = 0; i < N; i++) {
+            stack.push(i);
+        }
+        long sum = 0;
+        while (!stack.isEmpty()) {
+            sum += stack.pop();
+        }
+        return sum;
+    }
+
+    private static long intStack() {
+        IntStack stack = new IntStack();
+        for (int i = 0; i < N; i++) {
+            stack.push(i);
+        }
+        long sum = 0;
+        while (!stack.isEmpty()) {
+            sum += stack.pop();
+        }
+        return sum;
+    }
+
+    private static long fixedIntStack() {
+        IntStack stack = IntStack.fixedCapacity(N);
+        for (int i = 0; i < N; i++) {
+            stack.push(i);
+        }
+        long sum = 0;
+        while (!stack.isEmpty()) {
+            sum += stack.pop();
+        }
+        return sum;
+    }
+}
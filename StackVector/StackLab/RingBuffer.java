@@ -0,0 +1,455 @@
+package StackVector.StackLab;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * A bounded queue or stack on a power-of-two array, for handing elements from producer
+ * threads to a consumer thread without locks.
+ *
+ * ArrayDeque and PriorityQueue are unbounded and not thread-safe; ArrayBlockingQueue is
+ * thread-safe but takes a lock on every call. A ring buffer keeps two ever-increasing
+ * counters, the head (next element to take) and the tail (next free slot), and a slot is
+ * found with 'counter & mask' instead of a modulo. Each counter sits on its own cache lines
+ * (PaddedSequence) and has a single writer, so producer and consumer do not slow each other
+ * down. Three variants:
+ * - spsc(): FIFO, one producer thread and one consumer thread. offer and poll are a plain
+ *   array access plus one release write; each side caches the other side's counter and only
+ *   re-reads it when the buffer looks full or empty.
+ * - mpsc(): FIFO, any number of producer threads and one consumer thread. Producers claim
+ *   slots with a compareAndSet on the tail; the consumer knows a slot is published when it
+ *   is no longer null.
+ * - lifo(): a bounded LIFO stack for a single thread, e.g. a Lab stack with a fixed budget.
+ *   A lock-free stack needs producers and consumer to update the same counter, which is what
+ *   ConcurrentStack does; this variant has no synchronization at all.
+ *
+ * offerAll and drainTo move a batch with a single update of the shared counter, which is
+ * where most of the throughput comes from. put and take wait with the WaitStrategy while the
+ * buffer is full or empty. Null elements are not permitted.
+ */
+public abstract class RingBuffer<E> {
+
+    private static final VarHandle SLOT = MethodHandles.arrayElementVarHandle(Object[].class);
+
+    final Object[] slots;
+    final int mask;
+    final WaitStrategy waitStrategy;
+
+    private RingBuffer(int capacity, WaitStrategy waitStrategy) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Illegal capacity: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.slots = new Object[size];
+        this.mask = size - 1;
+        this.waitStrategy = waitStrategy;
+    }
+
+    // FIFO for one producer thread and one consumer thread; capacity is rounded up to a power of two
+    public static <E> RingBuffer<E> spsc(int capacity, WaitStrategy waitStrategy) {
+        return new SingleProducer<>(capacity, waitStrategy);
+    }
+
+    // FIFO for many producer threads and one consumer thread; capacity is rounded up to a power of two
+    public static <E> RingBuffer<E> mpsc(int capacity, WaitStrategy waitStrategy) {
+        return new MultiProducer<>(capacity, waitStrategy);
+    }
+
+    // LIFO for a single thread; capacity is rounded up to a power of two
+    public static <E> RingBuffer<E> lifo(int capacity) {
+        return new SingleThreadStack<>(capacity);
+    }
+
+    // Adds an element if there is room; returns false if the buffer is full
+    public abstract boolean offer(E e);
+
+    // Removes and returns the next element, or null if the buffer is empty
+    public abstract E poll();
+
+    // Returns the next element without removing it, or null if the buffer is empty
+    public abstract E peek();
+
+    // Adds items[offset .. offset + length) in order while there is room; returns how many were added
+    public abstract int offerAll(E[] items, int offset, int length);
+
+    // Removes up to 'limit' elements, in the order poll() would, and hands them to the consumer.
+    // If the consumer throws, the elements handed over so far, including the one it threw on,
+    // have been removed; the rest stay in the buffer.
+    public abstract int drainTo(Consumer<? super E> consumer, int limit);
+
+    // Number of elements; only a snapshot while other threads are using the buffer
+    public abstract int size();
+
+    public int offerAll(E[] items) {
+        return offerAll(items, 0, items.length);
+    }
+
+    public int drainTo(Consumer<? super E> consumer) {
+        return drainTo(consumer, Integer.MAX_VALUE);
+    }
+
+    // Adds an element, waiting with the wait strategy while the buffer is full
+    public void put(E e) {
+        for (int attempt = 0; !offer(e); attempt++) {
+            waitStrategy.idle(attempt);
+        }
+    }
+
+    // Removes the next element, waiting with the wait strategy while the buffer is empty
+    public E take() {
+        E e;
+        for (int attempt = 0; (e = poll()) == null; attempt++) {
+            waitStrategy.idle(attempt);
+        }
+        return e;
+    }
+
+    public int capacity() {
+        return slots.length;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    static void checkNotNull(Object e) {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    final E slotAcquire(long sequence) {
+        return (E) SLOT.getAcquire(slots, (int) sequence & mask);
+    }
+
+    final void slotRelease(long sequence, Object e) {
+        SLOT.setRelease(slots, (int) sequence & mask, e);
+    }
+
+    @SuppressWarnings("unchecked")
+    final E slotPlain(long sequence) {
+        return (E) slots[(int) sequence & mask];
+    }
+
+    // One producer, one consumer. tail.cache is the producer's copy of the head,
+    // head.cache is the consumer's copy of the tail.
+    private static final class SingleProducer<E> extends RingBuffer<E> {
+        private final PaddedSequence head = new PaddedSequence(0);
+        private final PaddedSequence tail = new PaddedSequence(0);
+
+        SingleProducer(int capacity, WaitStrategy waitStrategy) {
+            super(capacity, waitStrategy);
+        }
+
+        // Free slots seen by the producer at 't', re-reading the head only when needed
+        private int freeSlots(long t, int wanted) {
+            int free = (int) (slots.length - (t - tail.cache));
+            if (free < wanted) {
+                tail.cache = head.getAcquire();
+                free = (int) (slots.length - (t - tail.cache));
+            }
+            return free;
+        }
+
+        // Published elements seen by the consumer at 'h', re-reading the tail only when needed
+        private int available(long h, int wanted) {
+            int available = (int) (head.cache - h);
+            if (available < wanted) {
+                head.cache = tail.getAcquire();
+                available = (int) (head.cache - h);
+            }
+            return available;
+        }
+
+        @Override
+        public boolean offer(E e) {
+            checkNotNull(e);
+            long t = tail.getPlain();
+            if (freeSlots(t, 1) == 0) {
+                return false;
+            }
+            slots[(int) t & mask] = e;
+            tail.setRelease(t + 1);
+            return true;
+        }
+
+        @Override
+        public int offerAll(E[] items, int offset, int length) {
+            long t = tail.getPlain();
+            int n = Math.min(length, freeSlots(t, length));
+            for (int i = 0; i < n; i++) {
+                checkNotNull(items[offset + i]);
+            }
+            for (int i = 0; i < n; i++) {
+                slots[(int) (t + i) & mask] = items[offset + i];
+            }
+            if (n > 0) {
+                tail.setRelease(t + n);
+            }
+            return n;
+        }
+
+        @Override
+        public E poll() {
+            long h = head.getPlain();
+            if (available(h, 1) == 0) {
+                return null;
+            }
+            E e = slotPlain(h);
+            slots[(int) h & mask] = null;
+            head.setRelease(h + 1);
+            return e;
+        }
+
+        @Override
+        public E peek() {
+            long h = head.getPlain();
+            return available(h, 1) == 0 ? null : slotPlain(h);
+        }
+
+        @Override
+        public int drainTo(Consumer<? super E> consumer, int limit) {
+            long h = head.getPlain();
+            int n = Math.min(limit, available(h, limit));
+            int taken = 0;
+            try {
+                while (taken < n) {
+                    int index = (int) (h + taken) & mask;
+                    @SuppressWarnings("unchecked")
+                    E e = (E) slots[index];
+                    slots[index] = null;
+                    taken++;
+                    consumer.accept(e);
+                }
+            } finally {
+                // Also when the consumer throws, so the head never points at an emptied slot
+                if (taken > 0) {
+                    head.setRelease(h + taken);
+                }
+            }
+            return n;
+        }
+
+        @Override
+        public int size() {
+            long h = head.getAcquire();
+            long t = tail.getAcquire();
+            return (int) Math.max(0, Math.min(slots.length, t - h));
+        }
+    }
+
+    // Many producers, one consumer. Producers claim slots by advancing the tail with
+    // compareAndSet and then publish the element into the slot; a null slot below the tail
+    // is claimed but not yet published. head.cache is unused; producerLimit is the first
+    // tail value that does not fit, as last seen by any producer.
+    private static final class MultiProducer<E> extends RingBuffer<E> {
+        private final PaddedSequence head = new PaddedSequence(0);
+        private final PaddedSequence tail = new PaddedSequence(0);
+        private final PaddedSequence producerLimit;
+
+        MultiProducer(int capacity, WaitStrategy waitStrategy) {
+            super(capacity, waitStrategy);
+            producerLimit = new PaddedSequence(slots.length);
+        }
+
+        // Claims up to 'wanted' slots and returns the first claimed sequence, with the count in claimed[0]
+        private long claim(int wanted, int[] claimed) {
+            while (true) {
+                long t = tail.getAcquire();
+                long limit = producerLimit.getAcquire();
+                if (t + wanted > limit) {
+                    limit = head.getAcquire() + slots.length;
+                    producerLimit.setRelease(limit);
+                }
+                int n = (int) Math.min(wanted, limit - t);
+                if (n <= 0) {
+                    claimed[0] = 0;
+                    return t;
+                }
+                if (tail.compareAndSet(t, t + n)) {
+                    claimed[0] = n;
+                    return t;
+                }
+            }
+        }
+
+        @Override
+        public boolean offer(E e) {
+            checkNotNull(e);
+            while (true) {
+                long t = tail.getAcquire();
+                if (t >= producerLimit.getAcquire()) {
+                    long limit = head.getAcquire() + slots.length;
+                    if (t >= limit) {
+                        return false;
+                    }
+                    producerLimit.setRelease(limit);
+                }
+                if (tail.compareAndSet(t, t + 1)) {
+                    slotRelease(t, e);
+                    return true;
+                }
+            }
+        }
+
+        @Override
+        public int offerAll(E[] items, int offset, int length) {
+            for (int i = 0; i < length; i++) {
+                checkNotNull(items[offset + i]);
+            }
+            int[] claimed = new int[1];
+            long t = claim(length, claimed);
+            for (int i = 0; i < claimed[0]; i++) {
+                slotRelease(t + i, items[offset + i]);
+            }
+            return claimed[0];
+        }
+
+        // Waits for a claimed slot to be published; true if there is an element at 'h'
+        private boolean published(long h) {
+            if (slotAcquire(h) != null) {
+                return true;
+            }
+            if (h == tail.getAcquire()) {
+                return false;
+            }
+            // A producer has claimed the slot and is about to write it
+            while (slotAcquire(h) == null) {
+                Thread.onSpinWait();
+            }
+            return true;
+        }
+
+        @Override
+        public E poll() {
+            long h = head.getPlain();
+            if (!published(h)) {
+                return null;
+            }
+            E e = slotPlain(h);
+            slots[(int) h & mask] = null;
+            head.setRelease(h + 1);
+            return e;
+        }
+
+        @Override
+        public E peek() {
+            long h = head.getPlain();
+            return published(h) ? slotPlain(h) : null;
+        }
+
+        @Override
+        public int drainTo(Consumer<? super E> consumer, int limit) {
+            long h = head.getPlain();
+            int n = 0;
+            try {
+                while (n < limit) {
+                    E e = slotAcquire(h + n);
+                    if (e == null) {
+                        break; // not published yet; the next drain will pick it up
+                    }
+                    slots[(int) (h + n) & mask] = null;
+                    n++;
+                    consumer.accept(e);
+                }
+            } finally {
+                // Also when the consumer throws, so poll() never waits on an emptied slot
+                if (n > 0) {
+                    head.setRelease(h + n);
+                }
+            }
+            return n;
+        }
+
+        @Override
+        public int size() {
+            long h = head.getAcquire();
+            long t = tail.getAcquire();
+            return (int) Math.max(0, Math.min(slots.length, t - h));
+        }
+    }
+
+    // Single-threaded bounded stack: the top is at size - 1, so it never wraps around
+    private static final class SingleThreadStack<E> extends RingBuffer<E> {
+        private int size;
+
+        SingleThreadStack(int capacity) {
+            super(capacity, WaitStrategy.SPIN);
+        }
+
+        @Override
+        public boolean offer(E e) {
+            checkNotNull(e);
+            if (size == slots.length) {
+                return false;
+            }
+            slots[size++] = e;
+            return true;
+        }
+
+        @Override
+        public int offerAll(E[] items, int offset, int length) {
+            int n = Math.min(length, slots.length - size);
+            for (int i = 0; i < n; i++) {
+                checkNotNull(items[offset + i]);
+            }
+            System.arraycopy(items, offset, slots, size, n);
+            size += n;
+            return n;
+        }
+
+        @Override
+        public E poll() {
+            if (size == 0) {
+                return null;
+            }
+            E e = slotPlain(--size);
+            slots[size] = null;
+            return e;
+        }
+
+        @Override
+        public E peek() {
+            return size == 0 ? null : slotPlain(size - 1);
+        }
+
+        @Override
+        public int drainTo(Consumer<? super E> consumer, int limit) {
+            int n = 0;
+            while (n < limit && size > 0) {
+                consumer.accept(poll());
+                n++;
+            }
+            return n;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        // A single thread would wait forever for itself, so these fail instead of waiting
+
+        @Override
+        public void put(E e) {
+            if (!offer(e)) {
+                throw new IllegalStateException("Stack full");
+            }
+        }
+
+        @Override
+        public E take() {
+            E e = poll();
+            if (e == null) {
+                throw new NoSuchElementException();
+            }
+            return e;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package StackVector.StackLab;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Compares ArrayBlockingQueue with the SPSC and MPSC RingBuffers for a producer-consumer
+ * pipeline.
+ *
+ * Producers hand N Integers in total to one consumer, which sums them; the sum is checked so
+ * no element can be lost or duplicated. Before timing, drainTo is checked with a consumer that
+ * throws part-way through. The ring buffers are run one element at a time
+ * (put / take) and in batches of 64 (offerAll / drainTo), with every wait strategy.
+ * This is a rough manual comparison; results depend heavily on the number of cores: with
+ * fewer cores than threads, SPIN only wastes the time slice the other side needs.
+ * Pass N as the first argument (the default is 10 million).
+ */
+public class RingBufferComparison {
+
+    private static final int CAPACITY = 1024;
+    private static final int BATCH = 64;
+
+    // drainTo with a consumer that throws on "b": "a" and "b" are gone, "c" can still be polled
+    private static void checkThrowingConsumer(String name, RingBuffer<String> buffer) {
+        buffer.offer("a");
+        buffer.offer("b");
+        buffer.offer("c");
+        try {
+            buffer.drainTo(e -> {
+                if (e.equals("b")) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            throw new AssertionError(name + ": the consumer's exception was lost");
+        } catch (IllegalStateException expected) {
+            // the consumer threw on "b"
+        }
+        if (buffer.size() != 1 || !"c".equals(buffer.poll()) || buffer.poll() != null || buffer.size() != 0) {
+            throw new AssertionError(name + ": drainTo left the buffer broken after the consumer threw");
+        }
+        buffer.offer("d");
+        if (!"d".equals(buffer.poll())) {
+            throw new AssertionError(name + ": the buffer is unusable after the consumer threw");
+        }
+    }
+
+    private interface Producer {
+        void produce(int from, int to) throws InterruptedException;
+    }
+
+    private interface Consumer {
+        long consume(int count) throws InterruptedException;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        Integer[] values = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = i & 1023;
+        }
+        checkThrowingConsumer("spsc", RingBuffer.spsc(8, WaitStrategy.SPIN));
+        checkThrowingConsumer("mpsc", RingBuffer.mpsc(8, WaitStrategy.SPIN));
+        System.out.println(n + " elements, " + Runtime.getRuntime().availableProcessors() + " cores:");
+
+        for (int producers : new int[] { 1, 2 }) {
+            BlockingQueue<Integer> blocking = new ArrayBlockingQueue<>(CAPACITY);
+            run("ArrayBlockingQueue", producers, n, values,
+                (from, to) -> {
+                    for (int i = from; i < to; i++) {
+                        blocking.put(values[i]);
+                    }
+                },
+                count -> {
+                    long sum = 0;
+                    for (int i = 0; i < count; i++) {
+                        sum += blocking.take();
+                    }
+                    return sum;
+                });
+
+            for (WaitStrategy strategy : WaitStrategy.values()) {
+                RingBuffer<Integer> single = producers == 1
+                    ? RingBuffer.spsc(CAPACITY, strategy) : RingBuffer.mpsc(CAPACITY, strategy);
+                String name = (producers == 1 ? "spsc " : "mpsc ") + strategy;
+                run(name + " put/take", producers, n, values,
+                    (from, to) -> {
+                        for (int i = from; i < to; i++) {
+                            single.put(values[i]);
+                        }
+                    },
+                    count -> {
+                        long sum = 0;
+                        for (int i = 0; i < count; i++) {
+                            sum += single.take();
+                        }
+                        return sum;
+                    });
+
+                RingBuffer<Integer> batched = producers == 1
+                    ? RingBuffer.spsc(CAPACITY, strategy) : RingBuffer.mpsc(CAPACITY, strategy);
+                run(name + " batches", producers, n, values,
+                    (from, to) -> {
+                        int attempt = 0;
+                        for (int i = from; i < to; ) {
+                            int added = batched.offerAll(values, i, Math.min(BATCH, to - i));
+                            i += added;
+                            attempt = added > 0 ? 0 : attempt + 1;
+                            if (added == 0) {
+                                strategy.idle(attempt);
+                            }
+                        }
+                    },
+                    count -> {
+                        long[] sum = new long[1];
+                        int attempt = 0;
+                        for (int received = 0; received < count; ) {
+                            int drained = batched.drainTo(e -> sum[0] += e, BATCH);
+                            received += drained;
+                            attempt = drained > 0 ? 0 : attempt + 1;
+                            if (drained == 0) {
+                                strategy.idle(attempt);
+                            }
+                        }
+                        return sum[0];
+                    });
+            }
+        }
+    }
+
+    private static void run(String name, int producers, int n, Integer[] values, Producer producer,
+            Consumer consumer) throws InterruptedException {
+        Thread[] threads = new Thread[producers];
+        int share = n / producers;
+        long start = System.nanoTime();
+        for (int p = 0; p < producers; p++) {
+            int from = p * share;
+            int to = p == producers - 1 ? n : from + share;
+            threads[p] = new Thread(() -> {
+                try {
+                    producer.produce(from, to);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            threads[p].start();
+        }
+        long sum = consumer.consume(n);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long nanos = System.nanoTime() - start;
+
+        long expected = 0;
+        for (Integer value : values) {
+            expected += value;
+        }
+        if (sum != expected) {
+            throw new AssertionError(name + ": sum " + sum + ", expected " + expected);
+        }
+        System.out.printf("  %-28s %d producer(s) %8.1f M ops/s%n", name, producers, n / (nanos / 1e3));
+    }
+}
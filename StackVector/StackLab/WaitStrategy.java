@@ -0,0 +1,53 @@
+package StackVector.StackLab;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * What a RingBuffer does while put() waits for space or take() waits for an element.
+ *
+ * None of them uses a lock or needs a signal from the other side: the waiting thread keeps
+ * checking the buffer and only decides how to spend the time in between.
+ * - SPIN: busy-waits with Thread.onSpinWait. Lowest latency, but burns a whole core; only
+ *   worth it when every producer and consumer has a core of its own.
+ * - YIELD: spins briefly, then gives the core to other threads between checks.
+ * - PARK: spins briefly, then sleeps for a few microseconds, doubling up to about a
+ *   millisecond. Almost no CPU while idle, at the cost of a slower wake-up.
+ */
+public enum WaitStrategy {
+
+    SPIN {
+        @Override
+        public void idle(int attempt) {
+            Thread.onSpinWait();
+        }
+    },
+
+    YIELD {
+        @Override
+        public void idle(int attempt) {
+            if (attempt < SPINS) {
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+        }
+    },
+
+    PARK {
+        @Override
+        public void idle(int attempt) {
+            if (attempt < SPINS) {
+                Thread.onSpinWait();
+            } else {
+                int shift = Math.min(attempt - SPINS, 10);
+                LockSupport.parkNanos(1_000L << shift);
+            }
+        }
+    };
+
+    // Busy-wait attempts before YIELD and PARK back off
+    private static final int SPINS = 100;
+
+    // Called with 0, 1, 2, ... for as long as the caller has to wait
+    public abstract void idle(int attempt);
+}